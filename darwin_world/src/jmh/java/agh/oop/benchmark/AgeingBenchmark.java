@@ -0,0 +1,49 @@
+package agh.oop.benchmark;
+
+import agh.oop.model.objects.AnimalAgeing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The bulk ageing stage on columns the size of a crowded map, one animal in a hundred has no energy left.
+// Energies start far from zero, so the dead ones stay the same through the whole iteration.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AgeingBenchmark {
+
+    @Param({"400000"})
+    public int animalNumber;
+
+    @Param({"scalar", "vector"})
+    public String variant;
+
+    private AnimalAgeing ageing;
+    private int[] energies;
+    private int[] lifeLengths;
+    private int[] deadSlots;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var random = new Random(42);
+        ageing = AnimalAgeing.create(variant);
+        energies = new int[animalNumber];
+        lifeLengths = new int[animalNumber];
+        deadSlots = new int[animalNumber];
+        for (int slot = 0; slot < animalNumber; slot++) {
+            energies[slot] = random.nextInt(100) == 0 ? -1_000_000_000 : 1_000_000_000;
+            lifeLengths[slot] = random.nextInt(100);
+        }
+    }
+
+    @Benchmark
+    public void age() {
+        ageing.age(energies, lifeLengths, animalNumber);
+    }
+
+    @Benchmark
+    public int findDead() {
+        return ageing.findDead(energies, animalNumber, deadSlots);
+    }
+}
@@ -0,0 +1,59 @@
+package agh.oop.benchmark;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.WorldSnapshot;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.day.AbstractSimulationDay;
+import agh.oop.simulation.day.DefaultSimulationDay;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EarthBenchmark {
+
+    @Param({"hash", "grid"})
+    public String storageVariant;
+
+    @Param({"500"})
+    public int size;
+
+    @Param({"20000"})
+    public int animalNumber;
+
+    private Earth earth;
+    private AbstractSimulationDay simulationDay;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var simulationParameters = new SimulationData(1000, 20, 10, 2000, 15,
+                animalNumber, 32, 60, new int[]{1, 3}, "m1", "p1");
+        earth = new Earth(size, size, storageVariant);
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, simulationParameters);
+        var mutation = new StandardMutation(simulationParameters.mutationRange());
+        simulationDay = new DefaultSimulationDay(earth, animals, spawner,
+                mutation, simulationParameters);
+        new SimulationInitializer(earth, animals, spawner, simulationParameters).initialize();
+    }
+
+    @Benchmark
+    public void simulateOneDay() {
+        simulationDay.simulateOneDay();
+    }
+
+    // what a day costs on top of simulateOneDay() when a presenter or the statistics read the snapshot,
+    // one AnimalSnapshot per animal and the compact copy of the plants
+    @Benchmark
+    public WorldSnapshot publishAndReadSnapshot() {
+        earth.publishSnapshot(1);
+        return earth.getSnapshot();
+    }
+}
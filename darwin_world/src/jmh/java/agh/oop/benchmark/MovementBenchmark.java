@@ -0,0 +1,59 @@
+package agh.oop.benchmark;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MovementKernel;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Genome;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MovementBenchmark {
+
+    @Param({"100"})
+    public int size;
+
+    @Param({"10000"})
+    public int animalNumber;
+
+    private Earth earth;
+    private MovementKernel kernel;
+    private List<Animal> animals;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var random = new Random(42);
+        earth = new Earth(size, size);
+        kernel = new MovementKernel(size, size);
+        animals = new ArrayList<>();
+        for (int i = 0; i < animalNumber; i++) {
+            var genes = new ArrayList<Integer>();
+            for (int j = 0; j < 32; j++) {
+                genes.add(random.nextInt(8));
+            }
+            var position = new Vector2d(random.nextInt(size), random.nextInt(size));
+            animals.add(new Animal(i, position, Integer.MAX_VALUE, new Genome(genes, genes.size()), 10));
+        }
+    }
+
+    @Benchmark
+    public void moveWithMapOptions() {
+        for (Animal animal : animals) {
+            animal.move(earth);
+        }
+    }
+
+    @Benchmark
+    public void moveWithKernel() {
+        for (Animal animal : animals) {
+            animal.move(kernel);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package agh.oop.benchmark;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.NeighbourhoodIndex;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.day.AbstractSimulationDay;
+import agh.oop.simulation.day.PlantSeekingSimulationDay;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class NeighbourhoodBenchmark {
+
+    @Param({"1000"})
+    public int size;
+
+    @Param({"100000"})
+    public int animalNumber;
+
+    private AbstractSimulationDay simulationDay;
+    private NeighbourhoodIndex neighbourhood;
+    private List<Vector2d> positions;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var simulationParameters = new SimulationData(1000, 20, 10, 20000, 15,
+                animalNumber, 32, 60, new int[]{1, 3}, "m1", "p3");
+        var earth = new Earth(size, size, "grid");
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, simulationParameters);
+        var mutation = new StandardMutation(simulationParameters.mutationRange());
+        simulationDay = new PlantSeekingSimulationDay(earth, animals, spawner,
+                mutation, simulationParameters);
+        new SimulationInitializer(earth, animals, spawner, simulationParameters).initialize();
+        neighbourhood = earth.getNeighbourhood();
+        positions = new ArrayList<>();
+        for (Animal animal : animals) {
+            positions.add(animal.getPosition());
+        }
+    }
+
+    @Benchmark
+    public void simulateOneDay() {
+        simulationDay.simulateOneDay();
+    }
+
+    @Benchmark
+    public int nearestPlantForEveryAnimal() {
+        int found = 0;
+        for (Vector2d position : positions) {
+            if (neighbourhood.nearestPlant(position, PlantSeekingSimulationDay.SENSING_RADIUS).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,64 @@
+package agh.oop.benchmark;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.day.AbstractSimulationDay;
+import agh.oop.simulation.day.DefaultSimulationDay;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Scaling of the parallel day engine, threads = 0 is the sequential day for comparison.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParallelDayBenchmark {
+
+    @Param({"2000"})
+    public int size;
+
+    @Param({"400000"})
+    public int animalNumber;
+
+    @Param({"0", "1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private AbstractSimulationDay simulationDay;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var simulationParameters = new SimulationData(1000, 20, 10, 40000, 15,
+                animalNumber, 32, 60, new int[]{1, 3}, "m1", "p1");
+        var earth = new Earth(size, size, "grid");
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, simulationParameters);
+        var mutation = new StandardMutation(simulationParameters.mutationRange());
+        simulationDay = new DefaultSimulationDay(earth, animals, spawner,
+                mutation, simulationParameters);
+        new SimulationInitializer(earth, animals, spawner, simulationParameters).initialize();
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+            simulationDay.useParallelEngine(pool, 42);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    @Benchmark
+    public void simulateOneDay() {
+        simulationDay.simulateOneDay();
+    }
+}
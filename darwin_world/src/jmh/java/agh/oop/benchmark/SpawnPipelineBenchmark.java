@@ -0,0 +1,65 @@
+package agh.oop.benchmark;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.day.AbstractSimulationDay;
+import agh.oop.simulation.day.DefaultSimulationDay;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// A whole day with and without drawing the spawn candidates on a worker thread. The candidates only pay off
+// when the worker has a core of its own to draw them while the animals move.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpawnPipelineBenchmark {
+
+    @Param({"4000"})
+    public int size;
+
+    @Param({"200000"})
+    public int newPlantNumber;
+
+    @Param({"false", "true"})
+    public boolean pipelined;
+
+    private AbstractSimulationDay simulationDay;
+    private ExecutorService worker;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        var simulationParameters = new SimulationData(1000, 20, 10, newPlantNumber, 15,
+                20000, 32, 60, new int[]{1, 3}, "m1", "p1");
+        var earth = new Earth(size, size, "chunked");
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, simulationParameters);
+        simulationDay = new DefaultSimulationDay(earth, animals, spawner,
+                new StandardMutation(simulationParameters.mutationRange()), simulationParameters);
+        new SimulationInitializer(earth, animals, spawner, simulationParameters).initialize();
+        if (pipelined) {
+            worker = Executors.newSingleThreadExecutor();
+            spawner.usePipeline(worker);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    @Benchmark
+    public void simulateOneDay() {
+        simulationDay.simulateOneDay();
+    }
+}
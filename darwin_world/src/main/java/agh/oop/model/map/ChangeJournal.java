@@ -0,0 +1,39 @@
+package agh.oop.model.map;
+
+import java.util.Arrays;
+
+public class ChangeJournal {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] cells = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    public void mark(int cell) {
+        if (size == cells.length) {
+            compact();
+            if (size > cells.length / 2) {
+                cells = Arrays.copyOf(cells, 2 * cells.length);
+            }
+        }
+        cells[size++] = cell;
+    }
+
+    public int[] drain() {
+        compact();
+        int[] changed = Arrays.copyOf(cells, size);
+        size = 0;
+        return changed;
+    }
+
+    private void compact() {
+        Arrays.sort(cells, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || cells[unique - 1] != cells[i]) {
+                cells[unique++] = cells[i];
+            }
+        }
+        size = unique;
+    }
+}
@@ -0,0 +1,46 @@
+package agh.oop.model.map;
+
+import java.util.Arrays;
+
+// One journal per stripe of cells, picked like the stripe locks of ConcurrentGridMapStorage, so a mark locks only
+// the stripe of its cell. The stripes hold disjoint cells, drain() joins them and sorts the result.
+public class ConcurrentChangeJournal extends ChangeJournal {
+
+    private static final int STRIPE_COUNT = 64;
+
+    private final ChangeJournal[] stripes = new ChangeJournal[STRIPE_COUNT];
+
+    public ConcurrentChangeJournal() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ChangeJournal();
+        }
+    }
+
+    @Override
+    public void mark(int cell) {
+        ChangeJournal stripe = stripes[cell & (STRIPE_COUNT - 1)];
+        synchronized (stripe) {
+            stripe.mark(cell);
+        }
+    }
+
+    @Override
+    public int[] drain() {
+        int[][] drained = new int[STRIPE_COUNT][];
+        int size = 0;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            synchronized (stripes[i]) {
+                drained[i] = stripes[i].drain();
+            }
+            size += drained[i].length;
+        }
+        int[] changed = new int[size];
+        int filled = 0;
+        for (int[] cells : drained) {
+            System.arraycopy(cells, 0, changed, filled, cells.length);
+            filled += cells.length;
+        }
+        Arrays.sort(changed);
+        return changed;
+    }
+}
@@ -0,0 +1,55 @@
+package agh.oop.model.map;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+// Cells (y * width + x) where an animal arrived, left or changed, or a plant grew or was eaten, sorted ascending.
+public class DayChanges {
+
+    private final int width;
+    private final int[] cells;
+
+    public DayChanges(int width, int[] cells) {
+        this.width = width;
+        this.cells = cells;
+    }
+
+    public static DayChanges none(int width) {
+        return new DayChanges(width, new int[0]);
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public boolean isEmpty() {
+        return cells.length == 0;
+    }
+
+    public int cellAt(int i) {
+        return cells[i];
+    }
+
+    public Vector2d positionAt(int i) {
+        return new Vector2d(cells[i] % width, cells[i] / width);
+    }
+
+    public boolean contains(Vector2d position) {
+        return Arrays.binarySearch(cells, position.getY() * width + position.getX()) >= 0;
+    }
+
+    public List<Vector2d> positions() {
+        return new AbstractList<>() {
+            @Override
+            public Vector2d get(int index) {
+                return positionAt(index);
+            }
+
+            @Override
+            public int size() {
+                return cells.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package agh.oop.model.map;
+
+import agh.oop.model.objects.Animal;
+
+import java.util.Arrays;
+
+public class DeadAnimalArchive {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] lifeLengths = new int[INITIAL_CAPACITY];
+    private int[] daysOfDeath = new int[INITIAL_CAPACITY];
+    private int[] childrenCounts = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private long totalLifeLength = 0;
+
+    public synchronized void add(Animal animal, int dayOfDeath) {
+        if (size == lifeLengths.length) {
+            lifeLengths = Arrays.copyOf(lifeLengths, 2 * size);
+            daysOfDeath = Arrays.copyOf(daysOfDeath, 2 * size);
+            childrenCounts = Arrays.copyOf(childrenCounts, 2 * size);
+        }
+        lifeLengths[size] = animal.getLifeLength();
+        daysOfDeath[size] = dayOfDeath;
+        childrenCounts[size] = animal.getChildrenCount();
+        totalLifeLength += animal.getLifeLength();
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTotalLifeLength() {
+        return totalLifeLength;
+    }
+
+    public double getAverageLifeLength() {
+        return size == 0 ? 0 : (double) totalLifeLength / size;
+    }
+
+    public int getLifeLength(int index) {
+        return lifeLengths[index];
+    }
+
+    public int getDayOfDeath(int index) {
+        return daysOfDeath[index];
+    }
+
+    public int getChildrenCount(int index) {
+        return childrenCounts[index];
+    }
+}
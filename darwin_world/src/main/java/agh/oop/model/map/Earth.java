@@ -1,30 +1,114 @@
 package agh.oop.model.map;
 
+import agh.oop.model.map.storage.ChunkedMapStorage;
+import agh.oop.model.map.storage.ConcurrentGridMapStorage;
+import agh.oop.model.map.storage.GridMapStorage;
+import agh.oop.model.map.storage.HashMapStorage;
+import agh.oop.model.map.storage.MapStorage;
+import agh.oop.model.map.storage.PlantLayer;
 import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.AnimalAgeing;
+import agh.oop.model.objects.AnimalSnapshot;
+import agh.oop.model.objects.AnimalStore;
+import agh.oop.model.objects.IdAllocator;
 import agh.oop.model.objects.Plant;
+import agh.oop.model.objects.inheritance.GenomePool;
 import java.util.UUID;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class Earth implements MapOptions {
 
-    private final Map<Vector2d, HashSet<Animal>> animals = new HashMap<>();
-    private final Map<Vector2d, Plant> plants = new HashMap<>();
+    private static final int MOVE_BATCH = 1 << 14;
+    private final MapStorage storage;
     private final Boundary bounds;
-    private final HashSet<Animal> allAnimals = new HashSet<>();
+    private final MovementKernel movementKernel;
+    private final Set<Animal> aliveAnimals;
+    private final ChangeJournal changeJournal;
+    private final AnimalStore animalStore;
+    private final IdAllocator animalIds = new IdAllocator();
+    private final GenomePool genomePool = new GenomePool();
+    private final DeadAnimalArchive deadAnimals = new DeadAnimalArchive();
     private final UUID id  = UUID.randomUUID();
+    private final OccupiedFields occupiedFields;
+    private NeighbourhoodIndex neighbourhood = null;
+    private WorldSnapshot snapshot = null;
+    private int publishedDay = 0;
+    private DayChanges publishedChanges;
+    private int[] oldXs = new int[0];
+    private int[] oldYs = new int[0];
+    private AnimalAgeing ageing = null;
+    private int[] deadSlots = new int[0];
 
 
     public Earth(int width, int height) {
+        this(width, height, "hash");
+    }
+
+    public Earth(int width, int height, String storageVariant) {
         this.bounds = new Boundary(new Vector2d(0, 0), new Vector2d(width-1, height-1));
+        this.movementKernel = new MovementKernel(width, height);
+        this.storage = switch (storageVariant) {
+            case "hash" -> new HashMapStorage();
+            case "grid" -> new GridMapStorage(width, height);
+            case "chunked" -> new ChunkedMapStorage(width, height);
+            case "concurrent" -> new ConcurrentGridMapStorage(width, height);
+            default -> throw new IllegalArgumentException("Unknown storage variant");
+        };
+        boolean concurrent = storage instanceof ConcurrentGridMapStorage;
+        this.aliveAnimals = concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+        this.changeJournal = concurrent ? new ConcurrentChangeJournal() : new ChangeJournal();
+        this.animalStore = concurrent ? null : new AnimalStore();
+        this.occupiedFields = concurrent ? null : new OccupiedFields();
+        publishSnapshot(0);
+    }
+
+    public Map<Vector2d, Set<Animal>> getAnimals() {
+        return storage.getAnimals();
     }
 
-    public synchronized Map<Vector2d, HashSet<Animal>> getAnimals() {
-        return new HashMap<>(animals);
+    public Map<Vector2d, Plant> getPlants() {
+        return storage.getPlants();
     }
 
-    public synchronized Map<Vector2d, Plant> getPlants() {
-        return new HashMap<>(plants);
+    // Built on the first call after publishSnapshot(), copying every animal and plant, so a day nobody looks at
+    // costs nothing. Call it between days, like the day listeners do, the map must not change while it is built.
+    public synchronized WorldSnapshot getSnapshot() {
+        if (snapshot == null) {
+            snapshot = buildSnapshot();
+        }
+        return snapshot;
+    }
+
+    // ends a day, only its changes are taken now
+    public synchronized void publishSnapshot(int day) {
+        publishedDay = day;
+        publishedChanges = new DayChanges(getWidth(), changeJournal.drain());
+        snapshot = null;
+    }
+
+    private WorldSnapshot buildSnapshot() {
+        Map<Vector2d, List<AnimalSnapshot>> animalSnapshots = new HashMap<>();
+        List<AnimalSnapshot> aliveAnimals = new ArrayList<>();
+        storage.getAnimals().forEach((position, animalsAtPosition) -> {
+            List<AnimalSnapshot> snapshotsAtPosition = new ArrayList<>(animalsAtPosition.size());
+            for (Animal animal : animalsAtPosition) {
+                var animalSnapshot = AnimalSnapshot.of(animal);
+                snapshotsAtPosition.add(animalSnapshot);
+                if (!animal.isDead()) {
+                    aliveAnimals.add(animalSnapshot);
+                }
+            }
+            animalSnapshots.put(position, Collections.unmodifiableList(snapshotsAtPosition));
+        });
+        // the plants are copied in their compact form, Plant objects are built only for the fields a reader looks at
+        PlantLayer plantLayer = storage.copyPlants(getWidth());
+        return new WorldSnapshot(publishedDay, Collections.unmodifiableMap(animalSnapshots),
+                plantLayer.asMap(), plantLayer.size(), Collections.unmodifiableList(aliveAnimals), deadAnimals.size(),
+                deadAnimals.getTotalLifeLength(), publishedChanges);
     }
 
     public Boundary getBounds() {
@@ -33,27 +117,108 @@ public class Earth implements MapOptions {
     public UUID getId() {
         return id;
     }
-    public int getArea(){
-        return (bounds.upperRight().getX()+1)*(bounds.upperRight().getY()+1);
+
+    public int nextAnimalId() {
+        return animalIds.next();
+    }
+
+    public int getAnimalIdCount() {
+        return animalIds.getAllocatedCount();
     }
 
-    public HashSet<Animal> getDeadAnimals() {
-        HashSet<Animal> deadAnimals = new HashSet<>();
-        for (Animal animal : allAnimals) {
-            if (animal.isDead()) {
-                deadAnimals.add(animal);
+    // built on the first call, from then on every change of the map also updates it
+    public NeighbourhoodIndex getNeighbourhood() {
+        if (neighbourhood == null) {
+            if (storage instanceof ConcurrentGridMapStorage) {
+                throw new IllegalStateException("Neighbourhood queries are not supported by the concurrent storage");
             }
+            neighbourhood = new NeighbourhoodIndex(getWidth(), bounds.upperRight().getY() + 1, storage);
         }
+        return neighbourhood;
+    }
+
+    // from now on moveAllAnimals() ages all animals in one pass after moving them and findAnimalsWithoutEnergy()
+    // searches the column of energies, both in bulk, see AnimalAgeing. The concurrent storage keeps no columns.
+    public void useBulkAgeing(AnimalAgeing ageing) {
+        this.ageing = ageing;
+    }
+
+    public GenomePool getGenomePool() {
+        return genomePool;
+    }
+
+    private int getWidth() {
+        return bounds.upperRight().getX() + 1;
+    }
+
+    private int cell(Vector2d position) {
+        return position.getY() * getWidth() + position.getX();
+    }
+
+    private void markChanged(Vector2d position) {
+        changeJournal.mark(cell(position));
+    }
+
+    private void markChanged(int cell) {
+        changeJournal.mark(cell);
+    }
+
+    public int getArea(){
+        return (bounds.upperRight().getX()+1)*(bounds.upperRight().getY()+1);
+    }
+
+    public DeadAnimalArchive getDeadAnimals() {
         return deadAnimals;
     }
-    public HashSet<Animal> getAliveAnimals() {
-        HashSet<Animal> aliveAnimals = new HashSet<>();
-        for (Animal animal : allAnimals) {
-            if (!animal.isDead()) {
-                aliveAnimals.add(animal);
+
+    public Set<Animal> getAliveAnimals() {
+        return Collections.unmodifiableSet(aliveAnimals);
+    }
+
+    // a live view of the occupied fields in row order, the day phases visit it instead of the animal map, which
+    // the grid storages can only walk cell by cell. Fields occupied after the call are appended at the end.
+    // The concurrent storage does not keep the list, there it is copied from the map and sorted.
+    public List<Vector2d> getOccupiedFields() {
+        if (occupiedFields == null) {
+            List<Vector2d> fields = new ArrayList<>(storage.getAnimals().keySet());
+            fields.sort(Comparator.comparingInt(Vector2d::getY).thenComparingInt(Vector2d::getX));
+            return fields;
+        }
+        occupiedFields.sort();
+        return new AbstractList<>() {
+            @Override
+            public Vector2d get(int index) {
+                int cell = occupiedFields.get(index);
+                return new Vector2d(cell % getWidth(), cell / getWidth());
+            }
+
+            @Override
+            public int size() {
+                return occupiedFields.size();
             }
+        };
+    }
+
+    // a live view of the alive animals in the packed order of their slots, see AnimalStore
+    public List<Animal> getAliveAnimalList() {
+        if (animalStore == null) {
+            return new ArrayList<>(aliveAnimals);
         }
-        return aliveAnimals;
+        return new AbstractList<>() {
+            @Override
+            public Animal get(int index) {
+                return animalStore.getOwner(animalStore.getLiveSlot(index));
+            }
+
+            @Override
+            public int size() {
+                return animalStore.size();
+            }
+        };
+    }
+
+    public int getAliveAnimalCount() {
+        return aliveAnimals.size();
     }
 
     public void placeAnimal (Animal animal) {
@@ -61,11 +226,15 @@ public class Earth implements MapOptions {
         if (!isInBounds(position)) {
             throw new IllegalArgumentException("Position " + position.toString() + " is out of bounds");
         }
-        if (!animals.containsKey(position)) {
-            animals.put(position, new HashSet<>());
+        animal.internGenome(genomePool);
+        if (animalStore != null) {
+            animal.attach(animalStore);
         }
-        animals.get(position).add(animal);
-        allAnimals.add(animal);
+        storage.placeAnimal(animal, position);
+        aliveAnimals.add(animal);
+        if (occupiedFields != null) occupiedFields.animalAdded(cell(position));
+        if (neighbourhood != null) neighbourhood.animalAdded(position);
+        markChanged(position);
     }
 
     public void placePlant (Plant plant) {
@@ -73,27 +242,155 @@ public class Earth implements MapOptions {
         if (!isInBounds(position)) {
             throw new IllegalArgumentException("Position " + position.toString() + " is out of bounds");
         }
-        plants.put(position, plant);
+        if (neighbourhood != null && !storage.hasPlant(position)) neighbourhood.plantAdded(position);
+        storage.placePlant(plant);
+        markChanged(position);
+    }
+
+    public void placePlant(Vector2d position, int energy, boolean poisonous) {
+        if (!isInBounds(position)) {
+            throw new IllegalArgumentException("Position " + position.toString() + " is out of bounds");
+        }
+        if (neighbourhood != null && !storage.hasPlant(position)) neighbourhood.plantAdded(position);
+        storage.placePlant(position, energy, poisonous);
+        markChanged(position);
+    }
+
+    public boolean hasPlant(Vector2d position) {
+        return isInBounds(position) && storage.hasPlant(position);
+    }
+
+    public boolean isPoisonousPlant(Vector2d position) {
+        return isInBounds(position) && storage.isPoisonousPlant(position);
+    }
+
+    public int getPlantEnergy(Vector2d position) {
+        return isInBounds(position) ? storage.getPlantEnergy(position) : 0;
+    }
+
+    public int getPlantCount() {
+        return storage.getPlantCount();
     }
 
     public void removeAnimal(Animal animal,Optional<Integer> day) {
         Vector2d position = animal.getPosition();
-        animals.get(position).remove(animal);
+        storage.removeAnimal(animal, position);
+        aliveAnimals.remove(animal);
+        if (occupiedFields != null) occupiedFields.animalRemoved(cell(position));
+        if (neighbourhood != null) neighbourhood.animalRemoved(position);
+        animal.detach();
+        genomePool.release(animal.getGenome());
+        markChanged(position);
         animal.setDayOfDeath(day);
-        if (animals.get(position).isEmpty()) {
-            animals.remove(position);
-        }
+        day.ifPresent(dayOfDeath -> deadAnimals.add(animal, dayOfDeath));
     }
 
     public void removePlant(Plant plant) {
-        Vector2d position = plant.getPosition();
-        plants.remove(position);
+        removePlant(plant.getPosition());
+    }
+
+    public void removePlant(Vector2d position) {
+        if (neighbourhood != null && storage.hasPlant(position)) neighbourhood.plantRemoved(position);
+        storage.removePlant(position);
+        markChanged(position);
+    }
+
+    public void moveAllAnimals() {
+        if (animalStore == null) {
+            for (Animal animal : new ArrayList<>(aliveAnimals)) {
+                move(animal);
+            }
+            return;
+        }
+        for (int index = 0; index < animalStore.size(); index++) {
+            int slot = animalStore.getLiveSlot(index);
+            int oldX = animalStore.getX(slot);
+            int oldY = animalStore.getY(slot);
+            if (ageing != null) animalStore.step(slot, movementKernel);
+            else animalStore.move(slot, movementKernel);
+            animalMoved(animalStore.getOwner(slot), oldX, oldY, animalStore.getX(slot), animalStore.getY(slot));
+        }
+        if (ageing != null) animalStore.age(ageing);
+    }
+
+    // the animals move on the pool in batches of live slots, each one remembering where its animals were,
+    // then the map is updated on the calling thread in the same order as in moveAllAnimals()
+    public void moveAllAnimals(ForkJoinPool pool) {
+        if (animalStore == null) {
+            moveAllAnimals();
+            return;
+        }
+        int animalCount = animalStore.size();
+        if (oldXs.length < animalCount) {
+            oldXs = new int[animalCount];
+            oldYs = new int[animalCount];
+        }
+        List<ForkJoinTask<?>> batches = new ArrayList<>();
+        for (int from = 0; from < animalCount; from += MOVE_BATCH) {
+            int first = from;
+            int last = Math.min(animalCount, from + MOVE_BATCH);
+            batches.add(ForkJoinTask.adapt(() -> {
+                for (int index = first; index < last; index++) {
+                    int slot = animalStore.getLiveSlot(index);
+                    oldXs[index] = animalStore.getX(slot);
+                    oldYs[index] = animalStore.getY(slot);
+                    if (ageing != null) animalStore.step(slot, movementKernel);
+                    else animalStore.move(slot, movementKernel);
+                }
+            }));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(batches)));
+        if (ageing != null) animalStore.age(ageing);
+        for (int index = 0; index < animalCount; index++) {
+            int slot = animalStore.getLiveSlot(index);
+            animalMoved(animalStore.getOwner(slot), oldXs[index], oldYs[index],
+                    animalStore.getX(slot), animalStore.getY(slot));
+        }
+    }
+
+    public List<Animal> findAnimalsWithoutEnergy() {
+        List<Animal> found = new ArrayList<>();
+        if (animalStore == null) {
+            for (Animal animal : aliveAnimals) {
+                if (animal.getEnergy() <= 0) found.add(animal);
+            }
+            return found;
+        }
+        if (ageing != null) {
+            if (deadSlots.length < animalStore.getSlotLimit()) {
+                deadSlots = new int[animalStore.getSlotLimit()];
+            }
+            int deadCount = animalStore.findDead(ageing, deadSlots);
+            for (int i = 0; i < deadCount; i++) {
+                found.add(animalStore.getOwner(deadSlots[i]));
+            }
+            return found;
+        }
+        for (int index = 0; index < animalStore.size(); index++) {
+            int slot = animalStore.getLiveSlot(index);
+            if (animalStore.getEnergy(slot) <= 0) {
+                found.add(animalStore.getOwner(slot));
+            }
+        }
+        return found;
     }
 
     public void move(Animal animal){
-        removeAnimal(animal, Optional.empty());
-        animal.move(this);
-        placeAnimal(animal);
+        int oldX = animal.getX();
+        int oldY = animal.getY();
+        animal.move(movementKernel);
+        animalMoved(animal, oldX, oldY, animal.getX(), animal.getY());
+    }
+
+    // works on coordinates and cells only, so a moving animal does not allocate a Vector2d
+    private void animalMoved(Animal animal, int oldX, int oldY, int newX, int newY) {
+        int oldCell = oldY * getWidth() + oldX;
+        int newCell = newY * getWidth() + newX;
+        storage.moveAnimal(animal, oldX, oldY, newX, newY);
+        if (occupiedFields != null) occupiedFields.animalMoved(oldCell, newCell);
+        if (neighbourhood != null) neighbourhood.animalMoved(oldX, oldY, newX, newY);
+        markChanged(oldCell);
+        markChanged(newCell);
     }
 
     @Override
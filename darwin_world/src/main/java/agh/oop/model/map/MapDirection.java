@@ -1,51 +1,51 @@
 package agh.oop.model.map;
 
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
 public enum MapDirection {
-    N, NE, E, SE, S, SW, W, NW;
+    N(0, 1), NE(1, 1), E(1, 0), SE(1, -1), S(0, -1), SW(-1, -1), W(-1, 0), NW(-1, 1);
+
+    private static final MapDirection[] DIRECTIONS = values();
+
+    private final int dx;
+    private final int dy;
+    private final Vector2d unitVector;
+
+    MapDirection(int dx, int dy) {
+        this.dx = dx;
+        this.dy = dy;
+        this.unitVector = new Vector2d(dx, dy);
+    }
 
     public Vector2d toVector() {
-        return switch(this) {
-            case N -> new Vector2d(0,1);
-            case NE -> new Vector2d(1,1);
-            case E -> new Vector2d(1,0);
-            case SE -> new Vector2d(1,-1);
-            case S -> new Vector2d(0,-1);
-            case SW -> new Vector2d(-1,-1);
-            case W -> new Vector2d(-1,0);
-            case NW -> new Vector2d(-1,1);
-        };
+        return unitVector;
+    }
+
+    public int getDx() {
+        return dx;
+    }
+
+    public int getDy() {
+        return dy;
     }
 
     public static MapDirection convertNumber(int number){
-        return switch(number) {
-            case 0 -> N;
-            case 1 -> NE;
-            case 2 -> E;
-            case 3 -> SE;
-            case 4 -> S;
-            case 5 -> SW;
-            case 6 -> W;
-            case 7 -> NW;
-            default -> throw new IllegalStateException("Unexpected value: " + (number));
-        };
+        if (number < 0 || number >= DIRECTIONS.length) {
+            throw new IllegalStateException("Unexpected value: " + (number));
+        }
+        return DIRECTIONS[number];
     }
 
     public static MapDirection generate(){
-        int random = (int)(Math.random()*8);
-        return convertNumber(random);
+        return generate(ThreadLocalRandom.current());
+    }
+
+    public static MapDirection generate(RandomGenerator random){
+        return convertNumber(random.nextInt(8));
     }
 
     public MapDirection shift(int gene) {
-        int currentDirection = switch(this) {
-            case N -> 0;
-            case NE -> 1;
-            case E -> 2;
-            case SE -> 3;
-            case S -> 4;
-            case SW -> 5;
-            case W -> 6;
-            case NW -> 7;
-        };
-        return convertNumber((currentDirection + gene) % 8);
+        return convertNumber((ordinal() + gene) % 8);
     }
 }
@@ -0,0 +1,24 @@
+package agh.oop.model.map;
+
+// Same rules as Earth.mover, but on plain ints so that a step does not allocate anything.
+public class MovementKernel {
+
+    private final int height;
+    private final int[] wrappedX;
+
+    public MovementKernel(int width, int height) {
+        this.height = height;
+        this.wrappedX = new int[width + 2];
+        for (int x = -1; x <= width; x++) {
+            wrappedX[x + 1] = Math.floorMod(x, width);
+        }
+    }
+
+    public boolean isPole(int y) {
+        return y < 0 || y >= height;
+    }
+
+    public int wrapX(int x) {
+        return wrappedX[x + 1];
+    }
+}
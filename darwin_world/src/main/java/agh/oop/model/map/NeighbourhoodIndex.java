@@ -0,0 +1,281 @@
+package agh.oop.model.map;
+
+import agh.oop.model.map.storage.MapStorage;
+import agh.oop.model.objects.Animal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Plant and animal counts per square bucket of the map, Earth keeps them up to date once the index is created.
+// A count visits only the buckets overlapping its square, a nearest query the rings of buckets around the center
+// until no nearer field can be found, and both look at single fields only in the non-empty buckets, so their cost
+// depends on the radius and not on the size of the map. The nearest queries keep to the circle of the radius.
+// The map wraps around on the x axis.
+public class NeighbourhoodIndex {
+
+    private static final int BUCKET_SIZE = 8;
+
+    private final int width;
+    private final int height;
+    private final int bucketColumns;
+    private final MapStorage storage;
+    private final int[] plantCounts;
+    private final int[] animalCounts;
+
+    NeighbourhoodIndex(int width, int height, MapStorage storage) {
+        this.width = width;
+        this.height = height;
+        this.bucketColumns = (width + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        int bucketRows = (height + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.storage = storage;
+        this.plantCounts = new int[bucketColumns * bucketRows];
+        this.animalCounts = new int[bucketColumns * bucketRows];
+        for (Vector2d position : storage.getPlants().keySet()) {
+            plantCounts[bucket(position.getX(), position.getY())]++;
+        }
+        storage.getAnimals().forEach((position, animals) ->
+                animalCounts[bucket(position.getX(), position.getY())] += animals.size());
+    }
+
+    private int bucket(int x, int y) {
+        return (y / BUCKET_SIZE) * bucketColumns + x / BUCKET_SIZE;
+    }
+
+    void plantAdded(Vector2d position) {
+        plantCounts[bucket(position.getX(), position.getY())]++;
+    }
+
+    void plantRemoved(Vector2d position) {
+        plantCounts[bucket(position.getX(), position.getY())]--;
+    }
+
+    void animalAdded(Vector2d position) {
+        animalCounts[bucket(position.getX(), position.getY())]++;
+    }
+
+    void animalRemoved(Vector2d position) {
+        animalCounts[bucket(position.getX(), position.getY())]--;
+    }
+
+    void animalMoved(int fromX, int fromY, int toX, int toY) {
+        int from = bucket(fromX, fromY);
+        int to = bucket(toX, toY);
+        if (from != to) {
+            animalCounts[from]--;
+            animalCounts[to]++;
+        }
+    }
+
+    public int countPlants(Vector2d center, int radius) {
+        int[] count = new int[1];
+        visit(center, radius, plantCounts, (x, y) -> {
+            if (storage.hasPlant(new Vector2d(x, y))) count[0]++;
+        }, bucketCount -> count[0] += bucketCount);
+        return count[0];
+    }
+
+    public int countAnimals(Vector2d center, int radius) {
+        int[] count = new int[1];
+        visit(center, radius, animalCounts, (x, y) -> {
+            Set<Animal> animals = storage.getAnimals().get(new Vector2d(x, y));
+            if (animals != null) count[0] += animals.size();
+        }, bucketCount -> count[0] += bucketCount);
+        return count[0];
+    }
+
+    // the nearest plant not further than radius, of equally near plants the one in the lower row, then column
+    public Optional<Vector2d> nearestPlant(Vector2d center, int radius) {
+        int[] nearest = {-1, -1};
+        long[] nearestDistance = {Long.MAX_VALUE};
+        searchRings(center, radius, plantCounts, new NearestSearch() {
+            @Override
+            public long limit() {
+                return nearestDistance[0];
+            }
+
+            @Override
+            public void visit(int x, int y, long distance) {
+                boolean closer = distance < nearestDistance[0]
+                        || (distance == nearestDistance[0] && (y < nearest[1] || (y == nearest[1] && x < nearest[0])));
+                if (closer && storage.hasPlant(x, y)) {
+                    nearest[0] = x;
+                    nearest[1] = y;
+                    nearestDistance[0] = distance;
+                }
+            }
+        });
+        return nearest[0] < 0 ? Optional.empty() : Optional.of(new Vector2d(nearest[0], nearest[1]));
+    }
+
+    // at most count animals not further than radius, nearest first, equally near ones by id
+    public List<Animal> nearestAnimals(Vector2d center, int radius, int count) {
+        if (count <= 0) return new ArrayList<>();
+        // the worst of the animals kept so far is on top, so it is the one replaced by a nearer animal
+        PriorityQueue<FoundAnimal> nearest = new PriorityQueue<>(count, FoundAnimal.ORDER.reversed());
+        searchRings(center, radius, animalCounts, new NearestSearch() {
+            @Override
+            public long limit() {
+                return nearest.size() < count ? Long.MAX_VALUE : nearest.peek().distance();
+            }
+
+            @Override
+            public void visit(int x, int y, long distance) {
+                Set<Animal> animals = storage.getAnimals().get(new Vector2d(x, y));
+                if (animals == null) return;
+                for (Animal animal : animals) {
+                    var found = new FoundAnimal(animal, distance);
+                    if (nearest.size() < count) {
+                        nearest.add(found);
+                    }
+                    else if (FoundAnimal.ORDER.compare(found, nearest.peek()) < 0) {
+                        nearest.poll();
+                        nearest.add(found);
+                    }
+                }
+            }
+        });
+        Animal[] sorted = new Animal[nearest.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = nearest.poll().animal();
+        }
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    public int wrappedDx(int fromX, int toX) {
+        int dx = Math.floorMod(toX - fromX, width);
+        return dx > width / 2 ? dx - width : dx;
+    }
+
+    private long squaredDistance(int centerX, int centerY, int x, int y) {
+        long dx = wrappedDx(centerX, x);
+        long dy = y - centerY;
+        return dx * dx + dy * dy;
+    }
+
+    private record FoundAnimal(Animal animal, long distance) {
+        static final Comparator<FoundAnimal> ORDER = Comparator.comparingLong(FoundAnimal::distance)
+                .thenComparingInt(found -> found.animal().getId());
+    }
+
+    private interface NearestSearch {
+        // fields further than this squared distance cannot change the result any more
+        long limit();
+
+        void visit(int x, int y, long distance);
+    }
+
+    private interface FieldVisitor {
+        void visit(int x, int y);
+    }
+
+    private interface BucketVisitor {
+        void visit(int count);
+    }
+
+    // visits the buckets in square rings around the bucket of the center, the ring k lies k buckets away in x or y.
+    // A field of the ring is at least (k - 1) * BUCKET_SIZE + 1 fields away, less the columns missing from the
+    // narrower last bucket column when the ring wraps around, so the search stops at the first ring that starts
+    // beyond the radius or the limit. Only fields within the radius are visited.
+    private void searchRings(Vector2d center, int radius, int[] counts, NearestSearch search) {
+        int centerX = center.getX();
+        int centerY = center.getY();
+        int centerBucketX = centerX / BUCKET_SIZE;
+        int centerBucketY = centerY / BUCKET_SIZE;
+        int bucketRows = counts.length / bucketColumns;
+        // every bucket column has one offset from the center column, on the shorter way around the map
+        int lowOffset = -((bucketColumns - 1) / 2);
+        int highOffset = bucketColumns / 2;
+        int missingColumns = bucketColumns * BUCKET_SIZE - width;
+        long radiusSquared = (long) radius * radius;
+        int lastRing = Math.max(Math.max(-lowOffset, highOffset), Math.max(centerBucketY, bucketRows - 1 - centerBucketY));
+        for (int ring = 0; ring <= lastRing; ring++) {
+            long ringDistance = Math.max(0, (ring - 1) * BUCKET_SIZE + 1 - missingColumns);
+            if (ringDistance * ringDistance > Math.min(radiusSquared, search.limit())) return;
+            for (int dy = Math.max(-ring, -centerBucketY); dy <= Math.min(ring, bucketRows - 1 - centerBucketY); dy++) {
+                // inside the ring only its left and right bucket are on it
+                int step = Math.abs(dy) == ring ? 1 : 2 * ring;
+                for (int dx = -ring; dx <= ring; dx += step) {
+                    if (dx < lowOffset || dx > highOffset) continue;
+                    int bucketX = Math.floorMod(centerBucketX + dx, bucketColumns);
+                    int bucketY = centerBucketY + dy;
+                    if (counts[bucketY * bucketColumns + bucketX] > 0) {
+                        searchBucket(centerX, centerY, bucketX, bucketY, radiusSquared, search);
+                    }
+                }
+            }
+        }
+    }
+
+    private void searchBucket(int centerX, int centerY, int bucketX, int bucketY, long radiusSquared,
+                              NearestSearch search) {
+        int fromX = bucketX * BUCKET_SIZE;
+        int toX = Math.min(width, fromX + BUCKET_SIZE) - 1;
+        int fromY = bucketY * BUCKET_SIZE;
+        int toY = Math.min(height, fromY + BUCKET_SIZE) - 1;
+        // the nearest field of the bucket decides whether any of its fields can matter
+        long nearestDx = centerX >= fromX && centerX <= toX ? 0
+                : Math.min(Math.abs(wrappedDx(centerX, fromX)), Math.abs(wrappedDx(centerX, toX)));
+        long nearestDy = centerY < fromY ? fromY - centerY : centerY > toY ? centerY - toY : 0;
+        if (nearestDx * nearestDx + nearestDy * nearestDy > Math.min(radiusSquared, search.limit())) return;
+        for (int y = fromY; y <= toY; y++) {
+            for (int x = fromX; x <= toX; x++) {
+                long distance = squaredDistance(centerX, centerY, x, y);
+                if (distance <= radiusSquared && distance <= search.limit()) {
+                    search.visit(x, y, distance);
+                }
+            }
+        }
+    }
+
+    // calls wholeBucket for buckets lying completely inside the square, when it is given, and field for the other fields
+    private void visit(Vector2d center, int radius, int[] counts, FieldVisitor field, BucketVisitor wholeBucket) {
+        int lowY = Math.max(0, center.getY() - radius);
+        int highY = Math.min(height - 1, center.getY() + radius);
+        int lowX = center.getX() - radius;
+        int highX = center.getX() + radius;
+        if (highX - lowX + 1 >= width) {
+            visitColumns(0, width - 1, lowY, highY, counts, field, wholeBucket);
+        }
+        else if (lowX < 0) {
+            visitColumns(lowX + width, width - 1, lowY, highY, counts, field, wholeBucket);
+            visitColumns(0, highX, lowY, highY, counts, field, wholeBucket);
+        }
+        else if (highX >= width) {
+            visitColumns(lowX, width - 1, lowY, highY, counts, field, wholeBucket);
+            visitColumns(0, highX - width, lowY, highY, counts, field, wholeBucket);
+        }
+        else {
+            visitColumns(lowX, highX, lowY, highY, counts, field, wholeBucket);
+        }
+    }
+
+    private void visitColumns(int lowX, int highX, int lowY, int highY, int[] counts,
+                              FieldVisitor field, BucketVisitor wholeBucket) {
+        for (int bucketY = lowY / BUCKET_SIZE; bucketY <= highY / BUCKET_SIZE; bucketY++) {
+            int fromY = Math.max(lowY, bucketY * BUCKET_SIZE);
+            int toY = Math.min(highY, bucketY * BUCKET_SIZE + BUCKET_SIZE - 1);
+            for (int bucketX = lowX / BUCKET_SIZE; bucketX <= highX / BUCKET_SIZE; bucketX++) {
+                int count = counts[bucketY * bucketColumns + bucketX];
+                if (count == 0) continue;
+                int fromX = Math.max(lowX, bucketX * BUCKET_SIZE);
+                int toX = Math.min(highX, bucketX * BUCKET_SIZE + BUCKET_SIZE - 1);
+                boolean whole = fromX == bucketX * BUCKET_SIZE && toX == Math.min(width, (bucketX + 1) * BUCKET_SIZE) - 1
+                        && fromY == bucketY * BUCKET_SIZE && toY == Math.min(height, (bucketY + 1) * BUCKET_SIZE) - 1;
+                if (whole && wholeBucket != null) {
+                    wholeBucket.visit(count);
+                    continue;
+                }
+                for (int y = fromY; y <= toY; y++) {
+                    for (int x = fromX; x <= toX; x++) {
+                        field.visit(x, y);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package agh.oop.model.map;
+
+import java.util.Arrays;
+
+// Fields holding at least one animal as a packed list of cells (y * width + x), Earth updates it on every change.
+// A field is appended when its first animal comes and, when the last one leaves, its place is taken by the last field
+// of the list. The table keeps the place in the list and the animal count of every occupied cell, it grows with the
+// number of occupied fields and not with the size of the map. sort() puts the list back in row order, so the fields
+// are visited in the order of the map and the order does not depend on how the animals got there.
+class OccupiedFields {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private int[] cells = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private boolean sorted = true;
+    // open addressing with linear probing, a key is the cell + 1, so 0 marks an empty entry
+    private int[] keys = new int[2 * INITIAL_CAPACITY];
+    private int[] indexes = new int[2 * INITIAL_CAPACITY];
+    private int[] counts = new int[2 * INITIAL_CAPACITY];
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return cells[index];
+    }
+
+    void animalAdded(int cell) {
+        int entry = find(cell);
+        if (keys[entry] != 0) {
+            counts[entry]++;
+            return;
+        }
+        if (size == cells.length) {
+            grow();
+            entry = find(cell);
+        }
+        keys[entry] = cell + 1;
+        indexes[entry] = size;
+        counts[entry] = 1;
+        if (size > 0 && cells[size - 1] > cell) sorted = false;
+        cells[size++] = cell;
+    }
+
+    void animalRemoved(int cell) {
+        int entry = find(cell);
+        if (keys[entry] == 0 || --counts[entry] > 0) return;
+        int last = cells[--size];
+        if (last != cell) {
+            cells[indexes[entry]] = last;
+            indexes[find(last)] = indexes[entry];
+            sorted = false;
+        }
+        delete(entry);
+    }
+
+    // when only the counts changed the list stays as it is
+    void sort() {
+        if (sorted) return;
+        Arrays.sort(cells, 0, size);
+        for (int index = 0; index < size; index++) {
+            indexes[find(cells[index])] = index;
+        }
+        sorted = true;
+    }
+
+    void animalMoved(int from, int to) {
+        if (from == to) return;
+        animalAdded(to);
+        animalRemoved(from);
+    }
+
+    private int home(int cell) {
+        int hash = cell * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (keys.length - 1);
+    }
+
+    private int find(int cell) {
+        int mask = keys.length - 1;
+        int entry = home(cell);
+        while (keys[entry] != 0 && keys[entry] != cell + 1) {
+            entry = (entry + 1) & mask;
+        }
+        return entry;
+    }
+
+    // shifts back the following entries of the run that would not be found past the hole
+    private void delete(int entry) {
+        int mask = keys.length - 1;
+        int hole = entry;
+        for (int next = (hole + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = home(keys[next] - 1);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                indexes[hole] = indexes[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldIndexes = indexes;
+        int[] oldCounts = counts;
+        cells = Arrays.copyOf(cells, 2 * cells.length);
+        keys = new int[2 * cells.length];
+        indexes = new int[2 * cells.length];
+        counts = new int[2 * cells.length];
+        for (int entry = 0; entry < oldKeys.length; entry++) {
+            if (oldKeys[entry] == 0) continue;
+            int moved = find(oldKeys[entry] - 1);
+            keys[moved] = oldKeys[entry];
+            indexes[moved] = oldIndexes[entry];
+            counts[moved] = oldCounts[entry];
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package agh.oop.model.map;
+
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.AnimalSnapshot;
+import agh.oop.model.objects.Plant;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public record WorldSnapshot(int day, Map<Vector2d, List<AnimalSnapshot>> animals, Map<Vector2d, Plant> plants,
+                            int plantCount, List<AnimalSnapshot> aliveAnimals, int deadAnimalCount, long deadAnimalsLifeLength,
+                            DayChanges changes) {
+
+    public Optional<AnimalSnapshot> find(Animal animal) {
+        return aliveAnimals.stream()
+                .filter(snapshot -> snapshot.animal().equals(animal))
+                .findFirst();
+    }
+}
@@ -0,0 +1,415 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.Plant;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+
+public class ChunkedMapStorage implements MapStorage {
+
+    private static final int DEFAULT_CHUNK_SIZE = 8;
+    private static final int INITIAL_BUCKET_SIZE = 2;
+    private static final int MAX_RELEASED_CHUNKS = 256;
+
+    private final int width;
+    private final int height;
+    private final int chunkSize;
+    private final int chunksPerRow;
+    private final Map<Integer, Chunk> chunks = new HashMap<>();
+    private final Deque<Chunk> releasedChunks = new ArrayDeque<>();
+    private Chunk lastChunk = null;
+    private int occupiedFieldCount = 0;
+    private int plantCount = 0;
+    private final Map<Vector2d, Set<Animal>> animalsView = new AnimalsView();
+    private final Map<Vector2d, Plant> plantsView = new PlantsView();
+
+    public ChunkedMapStorage(int width, int height) {
+        this(width, height, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ChunkedMapStorage(int width, int height, int chunkSize) {
+        this.width = width;
+        this.height = height;
+        this.chunkSize = chunkSize;
+        this.chunksPerRow = (width + chunkSize - 1) / chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    private int chunkKey(Vector2d position) {
+        return chunkKey(position.getX(), position.getY());
+    }
+
+    private int chunkKey(int x, int y) {
+        return (y / chunkSize) * chunksPerRow + x / chunkSize;
+    }
+
+    private int cellIndex(Vector2d position) {
+        return cellIndex(position.getX(), position.getY());
+    }
+
+    private int cellIndex(int x, int y) {
+        return (y % chunkSize) * chunkSize + x % chunkSize;
+    }
+
+    private boolean isInBounds(Object key) {
+        return key instanceof Vector2d position && position.getX() >= 0 && position.getX() < width
+                && position.getY() >= 0 && position.getY() < height;
+    }
+
+    private Chunk getChunk(Vector2d position) {
+        return getChunk(position.getX(), position.getY());
+    }
+
+    private Chunk getChunk(int x, int y) {
+        int key = chunkKey(x, y);
+        if (lastChunk == null || lastChunk.key != key) {
+            Chunk chunk = chunks.get(key);
+            if (chunk == null) return null;
+            lastChunk = chunk;
+        }
+        return lastChunk;
+    }
+
+    private Chunk getOrCreateChunk(Vector2d position) {
+        return getOrCreateChunk(position.getX(), position.getY());
+    }
+
+    private Chunk getOrCreateChunk(int x, int y) {
+        Chunk chunk = getChunk(x, y);
+        if (chunk == null) {
+            chunk = releasedChunks.isEmpty() ? new Chunk() : releasedChunks.pop();
+            chunk.key = chunkKey(x, y);
+            chunks.put(chunk.key, chunk);
+            lastChunk = chunk;
+        }
+        return chunk;
+    }
+
+    private void releaseIfEmpty(Chunk chunk) {
+        if (chunk.occupiedFieldCount == 0 && chunk.plantCount == 0) {
+            chunks.remove(chunk.key);
+            if (lastChunk == chunk) {
+                lastChunk = null;
+            }
+            if (releasedChunks.size() < MAX_RELEASED_CHUNKS) {
+                releasedChunks.push(chunk);
+            }
+        }
+    }
+
+    @Override
+    public void placeAnimal(Animal animal, Vector2d position) {
+        placeAnimal(animal, position.getX(), position.getY());
+    }
+
+    private void placeAnimal(Animal animal, int x, int y) {
+        Chunk chunk = getOrCreateChunk(x, y);
+        if (chunk.animals == null) {
+            chunk.animals = new Animal[chunkSize * chunkSize][];
+            chunk.animalCounts = new int[chunkSize * chunkSize];
+        }
+        int cell = cellIndex(x, y);
+        Animal[] bucket = chunk.animals[cell];
+        int count = chunk.animalCounts[cell];
+        if (bucket == null) {
+            bucket = new Animal[INITIAL_BUCKET_SIZE];
+            chunk.animals[cell] = bucket;
+        }
+        else if (count == bucket.length) {
+            bucket = Arrays.copyOf(bucket, 2 * count);
+            chunk.animals[cell] = bucket;
+        }
+        bucket[count] = animal;
+        chunk.animalCounts[cell] = count + 1;
+        if (count == 0) {
+            chunk.occupiedFieldCount++;
+            occupiedFieldCount++;
+        }
+    }
+
+    @Override
+    public void removeAnimal(Animal animal, Vector2d position) {
+        removeAnimal(animal, position.getX(), position.getY());
+    }
+
+    private void removeAnimal(Animal animal, int x, int y) {
+        Chunk chunk = getChunk(x, y);
+        if (chunk == null || chunk.animals == null) return;
+        int cell = cellIndex(x, y);
+        Animal[] bucket = chunk.animals[cell];
+        int count = chunk.animalCounts[cell];
+        for (int i = 0; i < count; i++) {
+            if (bucket[i].equals(animal)) {
+                bucket[i] = bucket[count - 1];
+                bucket[count - 1] = null;
+                chunk.animalCounts[cell] = count - 1;
+                if (count == 1) {
+                    chunk.occupiedFieldCount--;
+                    occupiedFieldCount--;
+                    releaseIfEmpty(chunk);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void moveAnimal(Animal animal, Vector2d from, Vector2d to) {
+        moveAnimal(animal, from.getX(), from.getY(), to.getX(), to.getY());
+    }
+
+    // the animal is placed first, so a chunk it stays in is not released and taken again
+    @Override
+    public void moveAnimal(Animal animal, int fromX, int fromY, int toX, int toY) {
+        placeAnimal(animal, toX, toY);
+        removeAnimal(animal, fromX, fromY);
+    }
+
+    @Override
+    public Map<Vector2d, Set<Animal>> getAnimals() {
+        return animalsView;
+    }
+
+    @Override
+    public void placePlant(Vector2d position, int energy, boolean poisonous) {
+        short value = PlantCells.encode(energy, poisonous);
+        Chunk chunk = getOrCreateChunk(position);
+        if (chunk.plants == null) {
+            chunk.plants = new short[chunkSize * chunkSize];
+        }
+        int cell = cellIndex(position);
+        if (chunk.plants[cell] == PlantCells.EMPTY) {
+            chunk.plantCount++;
+            plantCount++;
+        }
+        chunk.plants[cell] = value;
+    }
+
+    @Override
+    public void removePlant(Vector2d position) {
+        Chunk chunk = getChunk(position);
+        if (chunk == null || chunk.plants == null) return;
+        int cell = cellIndex(position);
+        if (chunk.plants[cell] != PlantCells.EMPTY) {
+            chunk.plants[cell] = PlantCells.EMPTY;
+            chunk.plantCount--;
+            plantCount--;
+            releaseIfEmpty(chunk);
+        }
+    }
+
+    private short plantCellAt(Vector2d position) {
+        Chunk chunk = getChunk(position);
+        return chunk == null || chunk.plants == null ? PlantCells.EMPTY : chunk.plants[cellIndex(position)];
+    }
+
+    @Override
+    public boolean hasPlant(Vector2d position) {
+        return plantCellAt(position) != PlantCells.EMPTY;
+    }
+
+    @Override
+    public boolean hasPlant(int x, int y) {
+        Chunk chunk = getChunk(x, y);
+        return chunk != null && chunk.plants != null && chunk.plants[cellIndex(x, y)] != PlantCells.EMPTY;
+    }
+
+    @Override
+    public boolean isPoisonousPlant(Vector2d position) {
+        return PlantCells.isPoisonous(plantCellAt(position));
+    }
+
+    @Override
+    public int getPlantEnergy(Vector2d position) {
+        return PlantCells.energy(plantCellAt(position));
+    }
+
+    @Override
+    public int getPlantCount() {
+        return plantCount;
+    }
+
+    @Override
+    public Map<Vector2d, Plant> getPlants() {
+        return plantsView;
+    }
+
+    @Override
+    public PlantLayer copyPlants(int width) {
+        long[] copy = new long[plantCount];
+        int count = 0;
+        for (Chunk chunk : chunks.values()) {
+            if (chunk.plants == null || chunk.plantCount == 0) continue;
+            int left = (chunk.key % chunksPerRow) * chunkSize;
+            int top = (chunk.key / chunksPerRow) * chunkSize;
+            for (int cell = 0; cell < chunk.plants.length; cell++) {
+                if (chunk.plants[cell] != PlantCells.EMPTY) {
+                    int x = left + cell % chunkSize;
+                    int y = top + cell / chunkSize;
+                    copy[count++] = PlantLayer.pack(y * width + x, chunk.plants[cell]);
+                }
+            }
+        }
+        return new PlantLayer(width, copy, count);
+    }
+
+    private interface CellValue<V> {
+        V valueAt(Chunk chunk, int cell);
+    }
+
+    private <V> Iterator<Map.Entry<Vector2d, V>> entries(CellValue<V> cellValue, ToIntFunction<Chunk> valueCount) {
+        var chunkIterator = chunks.values().iterator();
+        return new Iterator<>() {
+            private Chunk chunk = null;
+            private int cell = 0;
+            private int remaining = 0;
+            private V value = null;
+
+            private void advance() {
+                while (value == null) {
+                    if (remaining == 0) {
+                        if (!chunkIterator.hasNext()) return;
+                        chunk = chunkIterator.next();
+                        cell = 0;
+                        remaining = valueCount.applyAsInt(chunk);
+                        continue;
+                    }
+                    value = cellValue.valueAt(chunk, cell++);
+                    if (value != null) {
+                        remaining--;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                advance();
+                return value != null;
+            }
+
+            @Override
+            public Map.Entry<Vector2d, V> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                var entry = new AbstractMap.SimpleImmutableEntry<>(chunk.position(cell - 1), value);
+                value = null;
+                return entry;
+            }
+        };
+    }
+
+    private class Chunk {
+        private int key;
+        private Animal[][] animals;
+        private int[] animalCounts;
+        private short[] plants;
+        private int occupiedFieldCount = 0;
+        private int plantCount = 0;
+
+        private Vector2d position(int cell) {
+            return new Vector2d((key % chunksPerRow) * chunkSize + cell % chunkSize,
+                    (key / chunksPerRow) * chunkSize + cell / chunkSize);
+        }
+
+        private Set<Animal> animalsAt(int cell) {
+            return animals != null && animalCounts[cell] > 0 ? new CellAnimals(this, cell) : null;
+        }
+
+        private Plant plantAt(int cell) {
+            return plants != null && plants[cell] != PlantCells.EMPTY ? PlantCells.toPlant(position(cell), plants[cell]) : null;
+        }
+    }
+
+    private static class CellAnimals extends AbstractSet<Animal> {
+        private final Chunk chunk;
+        private final int cell;
+
+        private CellAnimals(Chunk chunk, int cell) {
+            this.chunk = chunk;
+            this.cell = cell;
+        }
+
+        @Override
+        public Iterator<Animal> iterator() {
+            if (size() == 0) return Collections.emptyIterator();
+            return Arrays.asList(chunk.animals[cell]).subList(0, chunk.animalCounts[cell]).iterator();
+        }
+
+        @Override
+        public int size() {
+            return chunk.animals == null ? 0 : chunk.animalCounts[cell];
+        }
+    }
+
+    private class AnimalsView extends AbstractMap<Vector2d, Set<Animal>> {
+
+        @Override
+        public Set<Animal> get(Object key) {
+            if (!isInBounds(key)) return null;
+            Chunk chunk = getChunk((Vector2d) key);
+            return chunk == null ? null : chunk.animalsAt(cellIndex((Vector2d) key));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return occupiedFieldCount;
+        }
+
+        @Override
+        public Set<Entry<Vector2d, Set<Animal>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vector2d, Set<Animal>>> iterator() {
+                    return entries(Chunk::animalsAt, chunk -> chunk.occupiedFieldCount);
+                }
+
+                @Override
+                public int size() {
+                    return occupiedFieldCount;
+                }
+            };
+        }
+    }
+
+    private class PlantsView extends AbstractMap<Vector2d, Plant> {
+
+        @Override
+        public Plant get(Object key) {
+            return containsKey(key) ? PlantCells.toPlant((Vector2d) key, plantCellAt((Vector2d) key)) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return isInBounds(key) && hasPlant((Vector2d) key);
+        }
+
+        @Override
+        public int size() {
+            return plantCount;
+        }
+
+        @Override
+        public Set<Entry<Vector2d, Plant>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vector2d, Plant>> iterator() {
+                    return entries(Chunk::plantAt, chunk -> chunk.plantCount);
+                }
+
+                @Override
+                public int size() {
+                    return plantCount;
+                }
+            };
+        }
+    }
+}
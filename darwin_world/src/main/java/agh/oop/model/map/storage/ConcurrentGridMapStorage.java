@@ -0,0 +1,104 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Writes may come from many threads at once, each cell is guarded by one of the stripe locks.
+// The map views are not locked, read them only when no writer is running.
+public class ConcurrentGridMapStorage extends GridMapStorage {
+
+    private static final int DEFAULT_STRIPE_COUNT = 1024;
+
+    private final Object[] stripes;
+    private final int stripeMask;
+    private final AtomicInteger occupiedFieldCount = new AtomicInteger();
+    private final AtomicInteger plantCount = new AtomicInteger();
+
+    public ConcurrentGridMapStorage(int width, int height) {
+        this(width, height, DEFAULT_STRIPE_COUNT);
+    }
+
+    public ConcurrentGridMapStorage(int width, int height, int stripeCount) {
+        super(width, height);
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        this.stripes = new Object[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Object();
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    private int stripe(Vector2d position) {
+        return index(position) & stripeMask;
+    }
+
+    @Override
+    public void placeAnimal(Animal animal, Vector2d position) {
+        synchronized (stripes[stripe(position)]) {
+            super.placeAnimal(animal, position);
+        }
+    }
+
+    @Override
+    public void removeAnimal(Animal animal, Vector2d position) {
+        synchronized (stripes[stripe(position)]) {
+            super.removeAnimal(animal, position);
+        }
+    }
+
+    @Override
+    public void moveAnimal(Animal animal, int fromX, int fromY, int toX, int toY) {
+        int first = index(fromX, fromY) & stripeMask;
+        int second = index(toX, toY) & stripeMask;
+        if (first == second) {
+            synchronized (stripes[first]) {
+                super.moveAnimal(animal, fromX, fromY, toX, toY);
+            }
+            return;
+        }
+        // always lock the lower stripe first so two opposite moves cannot deadlock
+        synchronized (stripes[Math.min(first, second)]) {
+            synchronized (stripes[Math.max(first, second)]) {
+                super.moveAnimal(animal, fromX, fromY, toX, toY);
+            }
+        }
+    }
+
+    @Override
+    public void placePlant(Vector2d position, int energy, boolean poisonous) {
+        synchronized (stripes[stripe(position)]) {
+            super.placePlant(position, energy, poisonous);
+        }
+    }
+
+    @Override
+    public void removePlant(Vector2d position) {
+        synchronized (stripes[stripe(position)]) {
+            super.removePlant(position);
+        }
+    }
+
+    @Override
+    protected void changeOccupiedFieldCount(int delta) {
+        occupiedFieldCount.addAndGet(delta);
+    }
+
+    @Override
+    protected int getOccupiedFieldCount() {
+        return occupiedFieldCount.get();
+    }
+
+    @Override
+    protected void changePlantCount(int delta) {
+        plantCount.addAndGet(delta);
+    }
+
+    @Override
+    public int getPlantCount() {
+        return plantCount.get();
+    }
+}
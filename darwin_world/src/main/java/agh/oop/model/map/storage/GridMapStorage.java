@@ -0,0 +1,316 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.Plant;
+
+import java.util.*;
+
+public class GridMapStorage implements MapStorage {
+
+    private static final int INITIAL_BUCKET_SIZE = 2;
+    private static final int MAX_KEPT_BUCKET_SIZE = 8;
+
+    private final int width;
+    private final int height;
+    private final Animal[][] animals;
+    private final int[] animalCounts;
+    private final short[] plants;
+    private int occupiedFieldCount = 0;
+    private int plantCount = 0;
+    private final Map<Vector2d, Set<Animal>> animalsView = new AnimalsView();
+    private final Map<Vector2d, Plant> plantsView = new PlantsView();
+
+    public GridMapStorage(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.animals = new Animal[width * height][];
+        this.animalCounts = new int[width * height];
+        this.plants = new short[width * height];
+    }
+
+    protected int index(Vector2d position) {
+        return position.getY() * width + position.getX();
+    }
+
+    private Vector2d position(int index) {
+        return new Vector2d(index % width, index / width);
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof Vector2d position)) return -1;
+        if (position.getX() < 0 || position.getX() >= width || position.getY() < 0 || position.getY() >= height) {
+            return -1;
+        }
+        return index(position);
+    }
+
+    @Override
+    public void placeAnimal(Animal animal, Vector2d position) {
+        placeAnimal(animal, index(position));
+    }
+
+    private void placeAnimal(Animal animal, int index) {
+        Animal[] bucket = animals[index];
+        int count = animalCounts[index];
+        if (bucket == null) {
+            bucket = new Animal[INITIAL_BUCKET_SIZE];
+            animals[index] = bucket;
+        }
+        else if (count == bucket.length) {
+            bucket = Arrays.copyOf(bucket, 2 * count);
+            animals[index] = bucket;
+        }
+        bucket[count] = animal;
+        animalCounts[index] = count + 1;
+        if (count == 0) {
+            changeOccupiedFieldCount(1);
+        }
+    }
+
+    @Override
+    public void removeAnimal(Animal animal, Vector2d position) {
+        removeAnimal(animal, index(position));
+    }
+
+    private void removeAnimal(Animal animal, int index) {
+        Animal[] bucket = animals[index];
+        int count = animalCounts[index];
+        for (int i = 0; i < count; i++) {
+            if (bucket[i].equals(animal)) {
+                bucket[i] = bucket[count - 1];
+                bucket[count - 1] = null;
+                animalCounts[index] = count - 1;
+                if (count == 1) {
+                    changeOccupiedFieldCount(-1);
+                    if (bucket.length > MAX_KEPT_BUCKET_SIZE) {
+                        animals[index] = null;
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void moveAnimal(Animal animal, Vector2d from, Vector2d to) {
+        moveAnimal(animal, from.getX(), from.getY(), to.getX(), to.getY());
+    }
+
+    @Override
+    public void moveAnimal(Animal animal, int fromX, int fromY, int toX, int toY) {
+        removeAnimal(animal, fromY * width + fromX);
+        placeAnimal(animal, toY * width + toX);
+    }
+
+    protected int index(int x, int y) {
+        return y * width + x;
+    }
+
+    protected void changeOccupiedFieldCount(int delta) {
+        occupiedFieldCount += delta;
+    }
+
+    protected int getOccupiedFieldCount() {
+        return occupiedFieldCount;
+    }
+
+    protected void changePlantCount(int delta) {
+        plantCount += delta;
+    }
+
+    @Override
+    public int getPlantCount() {
+        return plantCount;
+    }
+
+    @Override
+    public Map<Vector2d, Set<Animal>> getAnimals() {
+        return animalsView;
+    }
+
+    @Override
+    public void placePlant(Vector2d position, int energy, boolean poisonous) {
+        short cell = PlantCells.encode(energy, poisonous);
+        int index = index(position);
+        if (plants[index] == PlantCells.EMPTY) {
+            changePlantCount(1);
+        }
+        plants[index] = cell;
+    }
+
+    @Override
+    public void removePlant(Vector2d position) {
+        int index = index(position);
+        if (plants[index] != PlantCells.EMPTY) {
+            changePlantCount(-1);
+        }
+        plants[index] = PlantCells.EMPTY;
+    }
+
+    @Override
+    public boolean hasPlant(Vector2d position) {
+        return plants[index(position)] != PlantCells.EMPTY;
+    }
+
+    @Override
+    public boolean hasPlant(int x, int y) {
+        return plants[index(x, y)] != PlantCells.EMPTY;
+    }
+
+    @Override
+    public boolean isPoisonousPlant(Vector2d position) {
+        return PlantCells.isPoisonous(plants[index(position)]);
+    }
+
+    @Override
+    public int getPlantEnergy(Vector2d position) {
+        return PlantCells.energy(plants[index(position)]);
+    }
+
+    @Override
+    public Map<Vector2d, Plant> getPlants() {
+        return plantsView;
+    }
+
+    @Override
+    public PlantLayer copyPlants(int width) {
+        long[] copy = new long[getPlantCount()];
+        int count = 0;
+        for (int index = 0; index < plants.length && count < copy.length; index++) {
+            if (plants[index] != PlantCells.EMPTY) {
+                copy[count++] = PlantLayer.pack(index, plants[index]);
+            }
+        }
+        return new PlantLayer(width, copy, count);
+    }
+
+    private class CellAnimals extends AbstractSet<Animal> {
+        private final int index;
+
+        private CellAnimals(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Iterator<Animal> iterator() {
+            return Arrays.asList(animals[index]).subList(0, animalCounts[index]).iterator();
+        }
+
+        @Override
+        public int size() {
+            return animalCounts[index];
+        }
+    }
+
+    private class AnimalsView extends AbstractMap<Vector2d, Set<Animal>> {
+
+        @Override
+        public Set<Animal> get(Object key) {
+            int index = indexOf(key);
+            return index >= 0 && animalCounts[index] > 0 ? new CellAnimals(index) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int index = indexOf(key);
+            return index >= 0 && animalCounts[index] > 0;
+        }
+
+        @Override
+        public int size() {
+            return getOccupiedFieldCount();
+        }
+
+        @Override
+        public Set<Entry<Vector2d, Set<Animal>>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vector2d, Set<Animal>>> iterator() {
+                    return new Iterator<>() {
+                        private int next = findNext(0);
+
+                        private int findNext(int from) {
+                            while (from < animalCounts.length && animalCounts[from] == 0) from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < animalCounts.length;
+                        }
+
+                        @Override
+                        public Entry<Vector2d, Set<Animal>> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int index = next;
+                            next = findNext(index + 1);
+                            return new SimpleImmutableEntry<>(position(index), new CellAnimals(index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return getOccupiedFieldCount();
+                }
+            };
+        }
+    }
+
+    private class PlantsView extends AbstractMap<Vector2d, Plant> {
+
+        @Override
+        public Plant get(Object key) {
+            int index = indexOf(key);
+            return containsKey(key) ? PlantCells.toPlant((Vector2d) key, plants[index]) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            int index = indexOf(key);
+            return index >= 0 && plants[index] != PlantCells.EMPTY;
+        }
+
+        @Override
+        public int size() {
+            return getPlantCount();
+        }
+
+        @Override
+        public Set<Entry<Vector2d, Plant>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vector2d, Plant>> iterator() {
+                    return new Iterator<>() {
+                        private int next = findNext(0);
+
+                        private int findNext(int from) {
+                            while (from < plants.length && plants[from] == PlantCells.EMPTY) from++;
+                            return from;
+                        }
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < plants.length;
+                        }
+
+                        @Override
+                        public Entry<Vector2d, Plant> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int index = next;
+                            next = findNext(index + 1);
+                            Vector2d position = position(index);
+                            return new SimpleImmutableEntry<>(position, PlantCells.toPlant(position, plants[index]));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return getPlantCount();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.Plant;
+
+import java.util.*;
+
+public class HashMapStorage implements MapStorage {
+
+    private final Map<Vector2d, Set<Animal>> animals = new HashMap<>();
+    private final Map<Vector2d, Short> plants = new HashMap<>();
+    private final Map<Vector2d, Plant> plantsView = new PlantsView();
+
+    @Override
+    public void placeAnimal(Animal animal, Vector2d position) {
+        if (!animals.containsKey(position)) {
+            animals.put(position, new HashSet<>());
+        }
+        animals.get(position).add(animal);
+    }
+
+    @Override
+    public void removeAnimal(Animal animal, Vector2d position) {
+        animals.get(position).remove(animal);
+        if (animals.get(position).isEmpty()) {
+            animals.remove(position);
+        }
+    }
+
+    @Override
+    public Map<Vector2d, Set<Animal>> getAnimals() {
+        return Collections.unmodifiableMap(animals);
+    }
+
+    @Override
+    public void placePlant(Vector2d position, int energy, boolean poisonous) {
+        plants.put(position, PlantCells.encode(energy, poisonous));
+    }
+
+    @Override
+    public void removePlant(Vector2d position) {
+        plants.remove(position);
+    }
+
+    @Override
+    public boolean hasPlant(Vector2d position) {
+        return plants.containsKey(position);
+    }
+
+    @Override
+    public boolean isPoisonousPlant(Vector2d position) {
+        return PlantCells.isPoisonous(plants.getOrDefault(position, PlantCells.EMPTY));
+    }
+
+    @Override
+    public int getPlantEnergy(Vector2d position) {
+        return PlantCells.energy(plants.getOrDefault(position, PlantCells.EMPTY));
+    }
+
+    @Override
+    public int getPlantCount() {
+        return plants.size();
+    }
+
+    @Override
+    public Map<Vector2d, Plant> getPlants() {
+        return plantsView;
+    }
+
+    @Override
+    public PlantLayer copyPlants(int width) {
+        long[] copy = new long[plants.size()];
+        int count = 0;
+        for (var plant : plants.entrySet()) {
+            Vector2d position = plant.getKey();
+            copy[count++] = PlantLayer.pack(position.getY() * width + position.getX(), plant.getValue());
+        }
+        return new PlantLayer(width, copy, count);
+    }
+
+    private class PlantsView extends AbstractMap<Vector2d, Plant> {
+
+        @Override
+        public Plant get(Object key) {
+            Short cell = plants.get(key);
+            return cell == null ? null : PlantCells.toPlant((Vector2d) key, cell);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return plants.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return plants.size();
+        }
+
+        @Override
+        public Set<Entry<Vector2d, Plant>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vector2d, Plant>> iterator() {
+                    var cells = plants.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return cells.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Vector2d, Plant> next() {
+                            var cell = cells.next();
+                            return new SimpleImmutableEntry<>(cell.getKey(), PlantCells.toPlant(cell.getKey(), cell.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return plants.size();
+                }
+            };
+        }
+    }
+}
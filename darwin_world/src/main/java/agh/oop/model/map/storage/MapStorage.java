@@ -0,0 +1,52 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.Plant;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface MapStorage {
+    void placeAnimal(Animal animal, Vector2d position);
+
+    void removeAnimal(Animal animal, Vector2d position);
+
+    default void moveAnimal(Animal animal, Vector2d from, Vector2d to) {
+        removeAnimal(animal, from);
+        placeAnimal(animal, to);
+    }
+
+    // the storages indexed by cells move the animal without building a Vector2d
+    default void moveAnimal(Animal animal, int fromX, int fromY, int toX, int toY) {
+        moveAnimal(animal, new Vector2d(fromX, fromY), new Vector2d(toX, toY));
+    }
+
+    Map<Vector2d, Set<Animal>> getAnimals();
+
+    void placePlant(Vector2d position, int energy, boolean poisonous);
+
+    default void placePlant(Plant plant) {
+        placePlant(plant.getPosition(), Math.abs(plant.getEnergy()), plant.isPoisonous());
+    }
+
+    void removePlant(Vector2d position);
+
+    boolean hasPlant(Vector2d position);
+
+    // the neighbourhood queries probe single fields by coordinates, the storages indexed by cells need no Vector2d
+    default boolean hasPlant(int x, int y) {
+        return hasPlant(new Vector2d(x, y));
+    }
+
+    boolean isPoisonousPlant(Vector2d position);
+
+    int getPlantEnergy(Vector2d position);
+
+    int getPlantCount();
+
+    Map<Vector2d, Plant> getPlants();
+
+    // the plants as they are now, cells numbered y * width + x, without building a Plant for each of them
+    PlantLayer copyPlants(int width);
+}
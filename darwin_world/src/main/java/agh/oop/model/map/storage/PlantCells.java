@@ -0,0 +1,33 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Plant;
+
+// A plant is kept in a single short: 0 means no plant, the value is the plant energy
+// and a negative value marks a poisonous plant.
+final class PlantCells {
+
+    static final short EMPTY = 0;
+
+    private PlantCells() {
+    }
+
+    static short encode(int energy, boolean poisonous) {
+        if (energy < 1 || energy > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Plant energy " + energy + " is out of range");
+        }
+        return (short) (poisonous ? -energy : energy);
+    }
+
+    static boolean isPoisonous(short cell) {
+        return cell < 0;
+    }
+
+    static int energy(short cell) {
+        return cell;
+    }
+
+    static Plant toPlant(Vector2d position, short cell) {
+        return new Plant(position, Math.abs(cell), isPoisonous(cell));
+    }
+}
@@ -0,0 +1,105 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Plant;
+
+import java.util.*;
+
+// A frozen copy of the plants of a map. Every plant is one long, the cell y * width + x in the high bits and its
+// PlantCells value in the low 16 bits, sorted by cell. Plant objects are built only when the map view is read.
+public final class PlantLayer {
+
+    private final int width;
+    private final long[] plants;
+    private final Map<Vector2d, Plant> plantsView = new PlantsView();
+
+    PlantLayer(int width, long[] plants, int count) {
+        this.width = width;
+        this.plants = Arrays.copyOf(plants, count);
+        Arrays.sort(this.plants);
+    }
+
+    static long pack(int cell, short value) {
+        return (long) cell << 16 | (value & 0xFFFF);
+    }
+
+    public int size() {
+        return plants.length;
+    }
+
+    public Map<Vector2d, Plant> asMap() {
+        return plantsView;
+    }
+
+    private int find(Object key) {
+        if (!(key instanceof Vector2d position) || position.getX() < 0 || position.getX() >= width) return -1;
+        long cell = (long) position.getY() * width + position.getX();
+        int low = 0;
+        int high = plants.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleCell = plants[middle] >> 16;
+            if (middleCell < cell) low = middle + 1;
+            else if (middleCell > cell) high = middle - 1;
+            else return middle;
+        }
+        return -1;
+    }
+
+    private Vector2d position(int index) {
+        long cell = plants[index] >> 16;
+        return new Vector2d((int) (cell % width), (int) (cell / width));
+    }
+
+    private short value(int index) {
+        return (short) plants[index];
+    }
+
+    private class PlantsView extends AbstractMap<Vector2d, Plant> {
+
+        @Override
+        public Plant get(Object key) {
+            int index = find(key);
+            return index < 0 ? null : PlantCells.toPlant((Vector2d) key, value(index));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return plants.length;
+        }
+
+        @Override
+        public Set<Entry<Vector2d, Plant>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Vector2d, Plant>> iterator() {
+                    return new Iterator<>() {
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < plants.length;
+                        }
+
+                        @Override
+                        public Entry<Vector2d, Plant> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            Vector2d position = position(next);
+                            return new SimpleImmutableEntry<>(position, PlantCells.toPlant(position, value(next++)));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return plants.length;
+                }
+            };
+        }
+    }
+}
@@ -2,119 +2,245 @@ package agh.oop.model.objects;
 
 import agh.oop.model.map.MapDirection;
 import agh.oop.model.map.MapOptions;
+import agh.oop.model.map.MovementKernel;
 import agh.oop.model.map.Vector2d;
 import agh.oop.model.objects.inheritance.Genome;
+import agh.oop.model.objects.inheritance.GenomeBreeder;
+import agh.oop.model.objects.inheritance.GenomePool;
 import agh.oop.model.objects.inheritance.Mutation;
 
-import java.util.HashSet;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class Animal implements WorldElement {
 
-    private static int initialEnergy;
+    private final int id;
+    private Genome genome;
+    private final int copulateEnergy;
+    private final int initialEnergy;
+    private int dayOfDeath = -1;
+    private AnimalStore store = null;
+    private int slot = -1;
 
-    private final UUID animalId;
-    private Vector2d position;
-    private MapDirection direction = MapDirection.generate();
+    // used only while the animal is not placed on a map, otherwise the values live in the store
+    private int x;
+    private int y;
+    private MapDirection direction;
     private int energy;
-    private final Genome genome;
-    private final int copulateEnergy;
     private int lifeLength = 0;
     private int childrenCount = 0;
-    private Optional<Integer> dayOfDeath = Optional.empty();
+    private int activeGene;
+
+    public Animal(int id, Vector2d position, int initialEnergy, Genome genome, int copulateEnergy) {
+        this(id, position, initialEnergy, genome, copulateEnergy, ThreadLocalRandom.current());
+    }
+
+    // the direction and the active gene are drawn from the given generator
+    public Animal(int id, Vector2d position, int initialEnergy, Genome genome, int copulateEnergy, RandomGenerator random) {
+        this(id, position, initialEnergy, genome, copulateEnergy, initialEnergy,
+                MapDirection.generate(random), random.nextInt(genome.getGenomeLength()));
+    }
 
-    public Animal(Vector2d position, int initialEnergy, Genome genome, int copulateEnergy) {
-        this.position = position;
-        this.energy = initialEnergy;
+    private Animal(int id, Vector2d position, int energy, Genome genome, int copulateEnergy, int initialEnergy) {
+        this(id, position, energy, genome, copulateEnergy, initialEnergy,
+                MapDirection.generate(), ThreadLocalRandom.current().nextInt(genome.getGenomeLength()));
+    }
+
+    private Animal(int id, Vector2d position, int energy, Genome genome, int copulateEnergy, int initialEnergy,
+                   MapDirection direction, int activeGene) {
+        // statistics index their arrays by the id, so ids have to come from an IdAllocator
+        if (id < 0) throw new IllegalArgumentException("Animal id cannot be negative");
+        this.x = position.getX();
+        this.y = position.getY();
+        this.energy = energy;
         this.genome = genome;
-        this.animalId = UUID.randomUUID();
+        this.direction = direction;
+        this.activeGene = activeGene;
+        this.id = id;
         this.copulateEnergy = copulateEnergy;
-        Animal.initialEnergy=initialEnergy;
+        this.initialEnergy = initialEnergy;
+    }
+
+    public void attach(AnimalStore store) {
+        if (this.store != null) return;
+        this.slot = store.allocate(this, x, y, energy, direction, lifeLength, childrenCount, genome, activeGene);
+        this.store = store;
+    }
+
+    public void detach() {
+        if (store == null) return;
+        x = store.getX(slot);
+        y = store.getY(slot);
+        direction = store.getDirection(slot);
+        energy = store.getEnergy(slot);
+        lifeLength = store.getLifeLength(slot);
+        childrenCount = store.getChildrenCount(slot);
+        activeGene = store.getActiveGene(slot);
+        store.release(slot);
+        store = null;
+        slot = -1;
     }
 
-    public UUID getId() {
-        return animalId;
+    public int getId() {
+        return id;
     }
 
     public Vector2d getPosition() {
-        return new Vector2d(position.getX(), position.getY());
+        return store == null ? new Vector2d(x, y) : new Vector2d(store.getX(slot), store.getY(slot));
+    }
+
+    public int getX() {
+        return store == null ? x : store.getX(slot);
+    }
+
+    public int getY() {
+        return store == null ? y : store.getY(slot);
     }
 
     public MapDirection getDirection() {
-        return direction;
+        return store == null ? direction : store.getDirection(slot);
     }
 
     public Optional<Integer> getDayOfDeath() {
-        return dayOfDeath;
+        return dayOfDeath < 0 ? Optional.empty() : Optional.of(dayOfDeath);
     }
 
     public void setDirection(MapDirection direction) {
-        this.direction = direction;
+        if (store == null) this.direction = direction;
+        else store.setDirection(slot, direction);
     }
 
     public void setDayOfDeath(Optional<Integer> dayOfDeath) {
-        this.dayOfDeath = dayOfDeath;
+        this.dayOfDeath = dayOfDeath.orElse(-1);
     }
 
     public int getEnergy() {
-        return energy;
+        return store == null ? energy : store.getEnergy(slot);
     }
 
     public int getLifeLength() {
-        return lifeLength;
+        return store == null ? lifeLength : store.getLifeLength(slot);
     }
 
     public int getChildrenCount() {
-        return childrenCount;
+        return store == null ? childrenCount : store.getChildrenCount(slot);
     }
 
-    public synchronized Genome getGenome() {
+    public Genome getGenome() {
         return genome;
     }
 
+    public void internGenome(GenomePool pool) {
+        genome = pool.intern(genome);
+    }
+
+    public int getActiveGene() {
+        return store == null ? activeGene : store.getActiveGene(slot);
+    }
+
+    public int getActiveGeneValue() {
+        return genome.geneAt(getActiveGene());
+    }
+
+    public void setActiveGene(int activeGene) {
+        if (store == null) this.activeGene = activeGene;
+        else store.setActiveGene(slot, activeGene);
+    }
+
     public void setEnergy(int energy) {
-        this.energy = energy;
+        if (store == null) this.energy = energy;
+        else store.setEnergy(slot, energy);
     }
 
-    public void incrementChildrenCount(){ this.childrenCount += 1;}
+    public void incrementChildrenCount(){
+        if (store == null) this.childrenCount += 1;
+        else store.incrementChildrenCount(slot);
+    }
 
     @Override
     public boolean isAt(Vector2d position) {
-        return this.position.equals(position);
+        return getPosition().equals(position);
     }
 
     public boolean isDead() {
-        return energy <= 0;
+        return getEnergy() <= 0;
     }
 
     public void eat(Plant plant) {
-        energy+=plant.getEnergy();
+        eat(plant.getEnergy());
+    }
+
+    public void eat(int plantEnergy) {
+        setEnergy(getEnergy() + plantEnergy);
+    }
+
+    public Animal reproduce(Animal other, Mutation mutation, int childId) {
+        return reproduce(other, new GenomeBreeder(mutation), childId);
     }
 
-    public Animal reproduce(Animal other, Mutation mutation) {
-        var percentage = (double) this.energy/(this.energy+other.energy);
-        var newGenome = this.genome.generateNewGenome(mutation, other.genome, percentage);
-        int initialEnergy = 2*copulateEnergy;
+    public Animal reproduce(Animal other, GenomeBreeder breeder, int childId) {
+        var newGenome = breeder.breed(this.genome, other.genome, genomeShare(other));
         this.setEnergy(this.getEnergy()-copulateEnergy);
         other.setEnergy(other.getEnergy()-copulateEnergy);
-        return new Animal(position, initialEnergy, newGenome, copulateEnergy);
+        return new Animal(childId, getPosition(), 2*copulateEnergy, newGenome, copulateEnergy, initialEnergy);
+    }
+
+    // the part of the child's genome that comes from this animal
+    public double genomeShare(Animal other) {
+        return (double) this.getEnergy()/(this.getEnergy()+other.getEnergy());
+    }
+
+    // for a child whose genome was bred earlier, e.g. on another thread
+    public Animal reproduce(Animal other, Genome childGenome, int childId, MapDirection direction, int activeGene) {
+        this.setEnergy(this.getEnergy()-copulateEnergy);
+        other.setEnergy(other.getEnergy()-copulateEnergy);
+        return new Animal(childId, getPosition(), 2*copulateEnergy, childGenome, copulateEnergy, initialEnergy,
+                direction, activeGene);
     }
 
     public void move(MapOptions options) {
-        int active = genome.takeAnotherGene();
+        if (store != null) {
+            store.move(slot, options);
+            return;
+        }
+        int active = genome.geneAt(activeGene);
+        activeGene = genome.nextGene(activeGene);
+        direction = direction.shift(active);
+        Optional<Vector2d> newPosition = options.mover(getPosition().add(direction.toVector()));
+        if (newPosition.isPresent()) {
+            x = newPosition.get().getX();
+            y = newPosition.get().getY();
+        }
+        else {
+            direction = direction.shift(4);
+        }
+        energy--;
+        lifeLength++;
+    }
+
+    public void move(MovementKernel kernel) {
+        if (store != null) {
+            store.move(slot, kernel);
+            return;
+        }
+        int active = genome.geneAt(activeGene);
+        activeGene = genome.nextGene(activeGene);
         direction = direction.shift(active);
-        position = options.mover(position.add(direction.toVector()))
-                .orElseGet(() -> {
-                    direction = direction.shift(4);
-                    return position;
-                });
+        int newY = y + direction.getDy();
+        if (kernel.isPole(newY)) {
+            direction = direction.shift(4);
+        }
+        else {
+            x = kernel.wrapX(x + direction.getDx());
+            y = newY;
+        }
         energy--;
         lifeLength++;
     }
 
     public String getAnimalColor() {
+        int energy = getEnergy();
         String color;
         if (energy<=0.5*initialEnergy) color = "black";
         else if (energy<=0.75*initialEnergy) color = "#ff0000";
@@ -129,11 +255,11 @@ public class Animal implements WorldElement {
         if (!(other instanceof Animal))
             return false;
         Animal that = (Animal) other;
-        return that.getId() == this.getId();
+        return that.id == this.id;
     }
 
     @Override
     public final int hashCode() {
-        return Objects.hash(animalId);
+        return Integer.hashCode(id);
     }
 }
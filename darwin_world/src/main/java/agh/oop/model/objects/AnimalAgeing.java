@@ -0,0 +1,40 @@
+package agh.oop.model.objects;
+
+// The daily ageing of all animals of an AnimalStore and the search for the dead ones, done over its columns of
+// energies and life lengths at once. The columns are walked up to the slot limit, free slots included, see release().
+// "vector" uses the jdk.incubator.vector module, which the JVM only loads when started with
+// --add-modules jdk.incubator.vector, preferred() falls back to "scalar" without it.
+public interface AnimalAgeing {
+
+    void age(int[] energies, int[] lifeLengths, int length);
+
+    int findDead(int[] energies, int length, int[] deadSlots);
+
+    static AnimalAgeing create(String variant) {
+        return switch (variant) {
+            case "scalar" -> new ScalarAgeing();
+            case "vector" -> {
+                AnimalAgeing ageing = loadVectorAgeing();
+                if (ageing == null) {
+                    throw new IllegalStateException("The jdk.incubator.vector module is not available");
+                }
+                yield ageing;
+            }
+            default -> throw new IllegalArgumentException("Unknown ageing variant");
+        };
+    }
+
+    static AnimalAgeing preferred() {
+        AnimalAgeing ageing = loadVectorAgeing();
+        return ageing != null ? ageing : new ScalarAgeing();
+    }
+
+    // loaded by name, so this interface links without the incubator module
+    private static AnimalAgeing loadVectorAgeing() {
+        try {
+            return (AnimalAgeing) Class.forName("agh.oop.model.objects.VectorAgeing").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package agh.oop.model.objects;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.inheritance.Genome;
+
+public record AnimalSnapshot(Animal animal, Vector2d position, int energy, int lifeLength,
+                             int childrenCount, Genome genome, String color) {
+
+    public static AnimalSnapshot of(Animal animal) {
+        return new AnimalSnapshot(animal, animal.getPosition(), animal.getEnergy(), animal.getLifeLength(),
+                animal.getChildrenCount(), animal.getGenome(), animal.getAnimalColor());
+    }
+}
@@ -0,0 +1,205 @@
+package agh.oop.model.objects;
+
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.MapOptions;
+import agh.oop.model.map.MovementKernel;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.inheritance.Genome;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// Columns of the animals placed on one map, an animal reads and writes its own slot.
+// Slots of removed animals are reused by the next placed ones. The slots of the placed animals are also kept packed
+// in liveSlots, a removed one gives its place to the last one, so they can be visited without skipping holes.
+public class AnimalStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private Animal[] owners = new Animal[INITIAL_CAPACITY];
+    private int[] energies = new int[INITIAL_CAPACITY];
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private byte[] directions = new byte[INITIAL_CAPACITY];
+    private int[] lifeLengths = new int[INITIAL_CAPACITY];
+    private int[] childrenCounts = new int[INITIAL_CAPACITY];
+    private int[] activeGenes = new int[INITIAL_CAPACITY];
+    private Genome[] genomes = new Genome[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount = 0;
+    private int[] liveSlots = new int[INITIAL_CAPACITY];
+    private int[] liveIndexes = new int[INITIAL_CAPACITY];
+    private int slotLimit = 0;
+    private int size = 0;
+
+    int allocate(Animal owner, int x, int y, int energy, MapDirection direction, int lifeLength,
+                 int childrenCount, Genome genome, int activeGene) {
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        }
+        else {
+            if (slotLimit == owners.length) {
+                grow();
+            }
+            slot = slotLimit++;
+        }
+        owners[slot] = owner;
+        xs[slot] = x;
+        ys[slot] = y;
+        energies[slot] = energy;
+        directions[slot] = (byte) direction.ordinal();
+        lifeLengths[slot] = lifeLength;
+        childrenCounts[slot] = childrenCount;
+        activeGenes[slot] = activeGene;
+        genomes[slot] = genome;
+        liveSlots[size] = slot;
+        liveIndexes[slot] = size;
+        size++;
+        return slot;
+    }
+
+    void release(int slot) {
+        owners[slot] = null;
+        genomes[slot] = null;
+        // a free slot is aged with the others, this keeps it from ever being found dead
+        energies[slot] = Integer.MAX_VALUE;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, 2 * freeSlots.length);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        int last = liveSlots[--size];
+        liveSlots[liveIndexes[slot]] = last;
+        liveIndexes[last] = liveIndexes[slot];
+    }
+
+    private void grow() {
+        int capacity = 2 * owners.length;
+        owners = Arrays.copyOf(owners, capacity);
+        energies = Arrays.copyOf(energies, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        directions = Arrays.copyOf(directions, capacity);
+        lifeLengths = Arrays.copyOf(lifeLengths, capacity);
+        childrenCounts = Arrays.copyOf(childrenCounts, capacity);
+        activeGenes = Arrays.copyOf(activeGenes, capacity);
+        genomes = Arrays.copyOf(genomes, capacity);
+        liveSlots = Arrays.copyOf(liveSlots, capacity);
+        liveIndexes = Arrays.copyOf(liveIndexes, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // index from 0 to size() - 1
+    public int getLiveSlot(int index) {
+        return liveSlots[index];
+    }
+
+    public int getSlotLimit() {
+        return slotLimit;
+    }
+
+    public Animal getOwner(int slot) {
+        return owners[slot];
+    }
+
+    public int getEnergy(int slot) {
+        return energies[slot];
+    }
+
+    public int getX(int slot) {
+        return xs[slot];
+    }
+
+    public int getY(int slot) {
+        return ys[slot];
+    }
+
+    void setEnergy(int slot, int energy) {
+        energies[slot] = energy;
+    }
+
+    MapDirection getDirection(int slot) {
+        return MapDirection.convertNumber(directions[slot]);
+    }
+
+    void setDirection(int slot, MapDirection direction) {
+        directions[slot] = (byte) direction.ordinal();
+    }
+
+    int getLifeLength(int slot) {
+        return lifeLengths[slot];
+    }
+
+    int getChildrenCount(int slot) {
+        return childrenCounts[slot];
+    }
+
+    void incrementChildrenCount(int slot) {
+        childrenCounts[slot]++;
+    }
+
+    int getActiveGene(int slot) {
+        return activeGenes[slot];
+    }
+
+    void setActiveGene(int slot, int activeGene) {
+        activeGenes[slot] = activeGene;
+    }
+
+    public void move(int slot, MovementKernel kernel) {
+        step(slot, kernel);
+        energies[slot]--;
+        lifeLengths[slot]++;
+    }
+
+    // the same move as Animal.move(MapOptions), made in the slot so the animal keeps it and its place in liveSlots
+    void move(int slot, MapOptions options) {
+        Genome genome = genomes[slot];
+        int activeGene = activeGenes[slot];
+        MapDirection direction = MapDirection.convertNumber(directions[slot]).shift(genome.geneAt(activeGene));
+        activeGenes[slot] = genome.nextGene(activeGene);
+        Optional<Vector2d> newPosition = options.mover(new Vector2d(xs[slot], ys[slot]).add(direction.toVector()));
+        if (newPosition.isPresent()) {
+            xs[slot] = newPosition.get().getX();
+            ys[slot] = newPosition.get().getY();
+        }
+        else {
+            direction = direction.shift(4);
+        }
+        directions[slot] = (byte) direction.ordinal();
+        energies[slot]--;
+        lifeLengths[slot]++;
+    }
+
+    // moves the animal without ageing it, age(...) then ages all animals at once
+    public void step(int slot, MovementKernel kernel) {
+        Genome genome = genomes[slot];
+        int activeGene = activeGenes[slot];
+        int direction = (directions[slot] + genome.geneAt(activeGene)) % 8;
+        activeGenes[slot] = genome.nextGene(activeGene);
+        MapDirection mapDirection = MapDirection.convertNumber(direction);
+        int newY = ys[slot] + mapDirection.getDy();
+        if (kernel.isPole(newY)) {
+            direction = (direction + 4) % 8;
+        }
+        else {
+            xs[slot] = kernel.wrapX(xs[slot] + mapDirection.getDx());
+            ys[slot] = newY;
+        }
+        directions[slot] = (byte) direction;
+    }
+
+    // takes one energy from every animal and adds one day to its life
+    public void age(AnimalAgeing ageing) {
+        ageing.age(energies, lifeLengths, slotLimit);
+    }
+
+    // writes the slots of the animals with no energy left to deadSlots in slot order and returns their number,
+    // deadSlots must have at least getSlotLimit() places
+    public int findDead(AnimalAgeing ageing, int[] deadSlots) {
+        return ageing.findDead(energies, slotLimit, deadSlots);
+    }
+}
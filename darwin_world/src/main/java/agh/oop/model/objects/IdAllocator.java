@@ -0,0 +1,14 @@
+package agh.oop.model.objects;
+
+public class IdAllocator {
+
+    private int nextId = 0;
+
+    public synchronized int next() {
+        return nextId++;
+    }
+
+    public synchronized int getAllocatedCount() {
+        return nextId;
+    }
+}
@@ -3,11 +3,9 @@ package agh.oop.model.objects;
 import agh.oop.model.map.Vector2d;
 
 import java.util.Objects;
-import java.util.UUID;
 
 public class Plant implements WorldElement {
 
-    private final UUID plantId;
     private final Vector2d position;
     private final int energy;
     private final boolean isPoisonous;
@@ -16,16 +14,12 @@ public class Plant implements WorldElement {
         this.position = position;
         this.energy = energy;
         this.isPoisonous = isPoisonous;
-        this.plantId = UUID.randomUUID();
     }
 
     public boolean isPoisonous() {
         return isPoisonous;
     }
 
-    public UUID getId() {
-        return plantId;
-    }
     @Override
     public Vector2d getPosition() {
         return position;
@@ -51,10 +45,10 @@ public class Plant implements WorldElement {
         if (!(other instanceof Plant))
             return false;
         Plant that = (Plant) other;
-        return that.getId() == this.getId();
+        return that.energy == this.energy && that.isPoisonous == this.isPoisonous && that.position.equals(this.position);
     }
     @Override
     public final int hashCode() {
-        return Objects.hash(plantId);
+        return Objects.hash(position, energy, isPoisonous);
     }
 }
@@ -0,0 +1,23 @@
+package agh.oop.model.objects;
+
+class ScalarAgeing implements AnimalAgeing {
+
+    @Override
+    public void age(int[] energies, int[] lifeLengths, int length) {
+        for (int slot = 0; slot < length; slot++) {
+            energies[slot]--;
+            lifeLengths[slot]++;
+        }
+    }
+
+    @Override
+    public int findDead(int[] energies, int length, int[] deadSlots) {
+        int count = 0;
+        for (int slot = 0; slot < length; slot++) {
+            if (energies[slot] <= 0) {
+                deadSlots[count++] = slot;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,47 @@
+package agh.oop.model.objects;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Ages SPECIES.length() slots per instruction. The search compares whole vectors with zero and only walks the bits
+// of the death mask, most vectors have no dead animal and are skipped at once. The tails are done one slot at a time.
+class VectorAgeing implements AnimalAgeing {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void age(int[] energies, int[] lifeLengths, int length) {
+        int slot = 0;
+        for (int bound = SPECIES.loopBound(length); slot < bound; slot += SPECIES.length()) {
+            IntVector.fromArray(SPECIES, energies, slot).sub(1).intoArray(energies, slot);
+            IntVector.fromArray(SPECIES, lifeLengths, slot).add(1).intoArray(lifeLengths, slot);
+        }
+        for (; slot < length; slot++) {
+            energies[slot]--;
+            lifeLengths[slot]++;
+        }
+    }
+
+    @Override
+    public int findDead(int[] energies, int length, int[] deadSlots) {
+        int count = 0;
+        int slot = 0;
+        for (int bound = SPECIES.loopBound(length); slot < bound; slot += SPECIES.length()) {
+            VectorMask<Integer> deadMask = IntVector.fromArray(SPECIES, energies, slot).compare(VectorOperators.LE, 0);
+            if (!deadMask.anyTrue()) continue;
+            long dead = deadMask.toLong();
+            while (dead != 0) {
+                deadSlots[count++] = slot + Long.numberOfTrailingZeros(dead);
+                dead &= dead - 1;
+            }
+        }
+        for (; slot < length; slot++) {
+            if (energies[slot] <= 0) {
+                deadSlots[count++] = slot;
+            }
+        }
+        return count;
+    }
+}
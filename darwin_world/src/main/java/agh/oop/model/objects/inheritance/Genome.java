@@ -1,86 +1,207 @@
 package agh.oop.model.objects.inheritance;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 
 public class Genome {
-    private final List<Integer> geneList;
+    // every gene is a direction shift 0-7, 21 of them fit in one long
+    private static final int GENE_BITS = 3;
+    private static final int GENES_PER_WORD = 21;
+    private static final long GENE_MASK = 0b111;
+    // blocks are never modified after the genome is built, so children share the ones they inherit unchanged
+    private static final int WORDS_PER_BLOCK = 16;
+    static final int GENES_PER_BLOCK = GENES_PER_WORD * WORDS_PER_BLOCK;
+
+    private final long[][] blocks;
+    // hash of every block, a child takes over the hashes of the blocks it shares, see GenomeWriter
+    private final int[] blockHashes;
+    private final int geneCount;
     private final int genomeLength;
-    private int activeGene;
+    private int hash = 0;
 
     public Genome(List<Integer> geneList, int genomeLength) {
-        this.geneList = geneList;
+        this(pack(geneList), geneList.size(), genomeLength);
+    }
+
+    Genome(long[][] blocks, int geneCount, int genomeLength) {
+        this(blocks, hashBlocks(blocks), geneCount, genomeLength);
+    }
+
+    Genome(long[][] blocks, int[] blockHashes, int geneCount, int genomeLength) {
+        this.blocks = blocks;
+        this.blockHashes = blockHashes;
+        this.geneCount = geneCount;
         this.genomeLength = genomeLength;
-        this.activeGene=(int) (Math.random()*genomeLength);
     }
-    public List<Integer> getGeneList() {
-        return new ArrayList<>(geneList);
+
+    static int blockHash(long[] block) {
+        return Arrays.hashCode(block);
     }
-    public int getGenomeLength(){
-        return genomeLength;
+
+    private static int[] hashBlocks(long[][] blocks) {
+        int[] hashes = new int[blocks.length];
+        for (int i = 0; i < blocks.length; i++) {
+            hashes[i] = blockHash(blocks[i]);
+        }
+        return hashes;
     }
 
-    public int getActiveGene() {
-        return activeGene;
+    public static Genome random(int genomeLength) {
+        return random(genomeLength, ThreadLocalRandom.current());
     }
-    public int getActiveGeneValue() {
-        return geneList.get(activeGene);
+
+    public static Genome random(int genomeLength, RandomGenerator random) {
+        long[][] blocks = newBlocks(genomeLength);
+        for (int i = 0; i < genomeLength; i++) {
+            setGene(blocks[i / GENES_PER_BLOCK], i % GENES_PER_BLOCK, random.nextInt(8));
+        }
+        return new Genome(blocks, genomeLength, genomeLength);
+    }
+
+    private static long[][] newBlocks(int geneCount) {
+        long[][] blocks = new long[(geneCount + GENES_PER_BLOCK - 1) / GENES_PER_BLOCK][];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = newBlock(i, geneCount);
+        }
+        return blocks;
     }
 
-    public int takeAnotherGene() {
-        int activeGeneValue = geneList.get(activeGene);
-        nextGene();
-        return activeGeneValue;
+    private static long[] newBlock(int blockIndex, int geneCount) {
+        int genesInBlock = Math.min(GENES_PER_BLOCK, geneCount - blockIndex * GENES_PER_BLOCK);
+        return new long[(genesInBlock + GENES_PER_WORD - 1) / GENES_PER_WORD];
     }
 
-    public void nextGene() {
-        if (activeGene==genomeLength-1) {
-            activeGene=0;
+    private static long[][] pack(List<Integer> geneList) {
+        long[][] blocks = newBlocks(geneList.size());
+        for (int i = 0; i < geneList.size(); i++) {
+            setGene(blocks[i / GENES_PER_BLOCK], i % GENES_PER_BLOCK, Math.floorMod(geneList.get(i), 8));
         }
-        else {
-            activeGene++;
+        return blocks;
+    }
+
+    static int geneAt(long[] block, int index) {
+        return (int) (block[index / GENES_PER_WORD] >>> (index % GENES_PER_WORD * GENE_BITS) & GENE_MASK);
+    }
+
+    static void setGene(long[] block, int index, int gene) {
+        int shift = index % GENES_PER_WORD * GENE_BITS;
+        int word = index / GENES_PER_WORD;
+        block[word] = block[word] & ~(GENE_MASK << shift) | (long) gene << shift;
+    }
+
+    long[][] getBlocks() {
+        return blocks;
+    }
+
+    int[] getBlockHashes() {
+        return blockHashes;
+    }
+
+    int getGeneCount() {
+        return geneCount;
+    }
+
+    public List<Integer> getGeneList() {
+        List<Integer> geneList = new ArrayList<>(geneCount);
+        for (int i = 0; i < geneCount; i++) {
+            geneList.add(geneAt(i));
         }
+        return geneList;
+    }
+
+    public boolean hasGenes(List<Integer> geneList) {
+        if (geneList.size() != geneCount) return false;
+        for (int i = 0; i < geneCount; i++) {
+            if (geneList.get(i) != geneAt(i)) return false;
+        }
+        return true;
+    }
+
+    public int getGenomeLength(){
+        return genomeLength;
+    }
+
+    public int geneAt(int index) {
+        Objects.checkIndex(index, geneCount);
+        return geneAt(blocks[index / GENES_PER_BLOCK], index % GENES_PER_BLOCK);
+    }
+
+    public int nextGene(int activeGene) {
+        return activeGene == genomeLength - 1 ? 0 : activeGene + 1;
     }
 
     public Genome generateNewGenome(Mutation mutation, Genome other, double percentage) {
-        var newGenome = merge(other, percentage);
-        newGenome = newGenome.mutate(mutation);
-        return newGenome;
+        return new GenomeBreeder(mutation).breed(this, other, percentage);
     }
 
     public Genome merge(Genome other, double percentage) {
-        List<Integer> newGeneList = new ArrayList<>();
+        var writer = new GenomeWriter();
+        mergeInto(other, percentage, writer, ThreadLocalRandom.current());
+        return writer.toGenome();
+    }
+
+    void mergeInto(Genome other, double percentage, GenomeWriter writer, RandomGenerator random) {
         int cut = (int) (percentage*genomeLength);
-        int mergeType = (int)(Math.random()*2);
+        int mergeType = random.nextInt(2);
         if (mergeType==0) {
-            for(int i=0; i<cut; i++) {
-                newGeneList.add(this.geneList.get(i));
-            }
-            for(int i=cut; i<genomeLength; i++) {
-                newGeneList.add(other.geneList.get(i));
-            }
+            splice(this, other, cut, writer);
         }
         else {
-            for(int i=0; i<genomeLength-cut; i++) {
-                newGeneList.add(other.geneList.get(i));
-            }
-            for(int i=genomeLength-cut; i<genomeLength; i++) {
-                newGeneList.add(this.geneList.get(i));
-            }
+            splice(other, this, genomeLength-cut, writer);
+        }
+    }
+
+    // genes [0, cut) come from left and [cut, genomeLength) from right, only the block holding the cut is copied
+    private void splice(Genome leftGenome, Genome rightGenome, int cut, GenomeWriter writer) {
+        long[][] left = leftGenome.blocks;
+        long[][] right = rightGenome.blocks;
+        long[][] merged = new long[(genomeLength + GENES_PER_BLOCK - 1) / GENES_PER_BLOCK][];
+        int[] mergedHashes = new int[merged.length];
+        for (int i = 0; i < merged.length && i < right.length; i++) {
+            merged[i] = right[i];
+            mergedHashes[i] = rightGenome.blockHashes[i];
+        }
+        int fullBlocks = cut / GENES_PER_BLOCK;
+        System.arraycopy(left, 0, merged, 0, fullBlocks);
+        System.arraycopy(leftGenome.blockHashes, 0, mergedHashes, 0, fullBlocks);
+        writer.start(merged, mergedHashes, genomeLength, genomeLength);
+        for (int i = right.length; i < merged.length; i++) {
+            merged[i] = newBlock(i, genomeLength);
+            writer.markCopied(i);
+        }
+        int rest = cut % GENES_PER_BLOCK;
+        if (rest > 0) {
+            merged[fullBlocks] = spliceBlock(left[fullBlocks], merged[fullBlocks], rest);
+            writer.markCopied(fullBlocks);
         }
-        return new Genome(newGeneList, genomeLength);
     }
+
+    private static long[] spliceBlock(long[] left, long[] right, int cut) {
+        long[] block = right.clone();
+        int fullWords = cut / GENES_PER_WORD;
+        System.arraycopy(left, 0, block, 0, fullWords);
+        int rest = cut % GENES_PER_WORD;
+        if (rest > 0) {
+            long leftMask = (1L << (rest * GENE_BITS)) - 1;
+            block[fullWords] = left[fullWords] & leftMask | block[fullWords] & ~leftMask;
+        }
+        return block;
+    }
+
     public Genome mutate(Mutation mutation) {
-        return new Genome(mutation.mutateGenome(this), genomeLength);
+        return mutation.mutate(this);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for(Integer gene: geneList){
-            sb.append(gene);
+        for(int i = 0; i < geneCount; i++){
+            sb.append(geneAt(i));
             sb.append(" ");
         }
         return sb.toString();
@@ -91,11 +212,24 @@ public class Genome {
         if (this == o) return true;
         if (Objects.isNull(o) || getClass() != o.getClass()) return false;
         Genome genome = (Genome) o;
-        return genomeLength == genome.genomeLength && Objects.equals(geneList, genome.geneList);
+        if (genomeLength != genome.genomeLength || geneCount != genome.geneCount) return false;
+        for (int i = 0; i < blocks.length; i++) {
+            if (blocks[i] == genome.blocks[i]) continue;
+            if (blockHashes[i] != genome.blockHashes[i] || !Arrays.equals(blocks[i], genome.blocks[i])) return false;
+        }
+        return true;
     }
 
+    // combines the block hashes, so a child only hashes the blocks it changed
     @Override
     public int hashCode() {
-        return Objects.hash(geneList, genomeLength);
+        if (hash == 0) {
+            int combined = genomeLength;
+            for (int blockHash : blockHashes) {
+                combined = 31 * combined + blockHash;
+            }
+            hash = combined;
+        }
+        return hash;
     }
 }
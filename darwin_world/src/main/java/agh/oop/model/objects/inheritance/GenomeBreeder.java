@@ -0,0 +1,25 @@
+package agh.oop.model.objects.inheritance;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+// Crossover and mutation of one child in a single pass, the scratch writer is reused between births.
+public class GenomeBreeder {
+
+    private final Mutation mutation;
+    private final GenomeWriter writer = new GenomeWriter();
+
+    public GenomeBreeder(Mutation mutation) {
+        this.mutation = mutation;
+    }
+
+    public Genome breed(Genome first, Genome second, double percentage) {
+        return breed(first, second, percentage, ThreadLocalRandom.current());
+    }
+
+    public Genome breed(Genome first, Genome second, double percentage, RandomGenerator random) {
+        first.mergeInto(second, percentage, writer, random);
+        mutation.apply(writer, random);
+        return writer.toGenome();
+    }
+}
@@ -0,0 +1,48 @@
+package agh.oop.model.objects.inheritance;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Keeps one shared instance of every genome carried by animals on a map.
+// An entry is dropped when the last animal carrying it leaves the map.
+public class GenomePool {
+
+    private final Map<Genome, Entry> entries = new HashMap<>();
+
+    public synchronized Genome intern(Genome genome) {
+        Entry entry = entries.get(genome);
+        if (entry == null) {
+            entry = new Entry(genome);
+            entries.put(genome, entry);
+        }
+        entry.references++;
+        return entry.genome;
+    }
+
+    public synchronized void release(Genome genome) {
+        Entry entry = entries.get(genome);
+        if (entry == null) return;
+        entry.references--;
+        if (entry.references == 0) {
+            entries.remove(genome);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized int getReferenceCount(Genome genome) {
+        Entry entry = entries.get(genome);
+        return entry == null ? 0 : entry.references;
+    }
+
+    private static class Entry {
+        private final Genome genome;
+        private int references = 0;
+
+        private Entry(Genome genome) {
+            this.genome = genome;
+        }
+    }
+}
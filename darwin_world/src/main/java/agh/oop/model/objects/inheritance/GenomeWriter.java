@@ -0,0 +1,70 @@
+package agh.oop.model.objects.inheritance;
+
+import java.util.Arrays;
+
+// Builds a changed copy of a genome, a block is copied only when a gene inside it is set for the first time.
+// The hashes of the blocks that were not copied are taken over, only the copied ones are hashed again.
+// One writer can be reused for many genomes, it only keeps its scratch flags between them.
+class GenomeWriter {
+
+    private long[][] blocks;
+    private int[] blockHashes;
+    private boolean[] copied = new boolean[0];
+    private int geneCount;
+    private int genomeLength;
+
+    GenomeWriter() {
+    }
+
+    GenomeWriter(Genome genome) {
+        start(genome.getBlocks().clone(), genome.getBlockHashes().clone(), genome.getGeneCount(), genome.getGenomeLength());
+    }
+
+    // blockHashes[i] is the hash of blocks[i] for every block that will not be marked copied
+    void start(long[][] blocks, int[] blockHashes, int geneCount, int genomeLength) {
+        this.blocks = blocks;
+        this.blockHashes = blockHashes;
+        this.geneCount = geneCount;
+        this.genomeLength = genomeLength;
+        if (copied.length < blocks.length) {
+            copied = new boolean[blocks.length];
+        }
+        else {
+            Arrays.fill(copied, 0, blocks.length, false);
+        }
+    }
+
+    void markCopied(int block) {
+        copied[block] = true;
+    }
+
+    int getGenomeLength() {
+        return genomeLength;
+    }
+
+    int geneAt(int index) {
+        return Genome.geneAt(blocks[index / Genome.GENES_PER_BLOCK], index % Genome.GENES_PER_BLOCK);
+    }
+
+    void setGene(int index, int gene) {
+        if (geneAt(index) == gene) return;
+        int block = index / Genome.GENES_PER_BLOCK;
+        if (!copied[block]) {
+            blocks[block] = blocks[block].clone();
+            copied[block] = true;
+        }
+        Genome.setGene(blocks[block], index % Genome.GENES_PER_BLOCK, gene);
+    }
+
+    Genome toGenome() {
+        for (int block = 0; block < blocks.length; block++) {
+            if (copied[block]) {
+                blockHashes[block] = Genome.blockHash(blocks[block]);
+            }
+        }
+        var genome = new Genome(blocks, blockHashes, geneCount, genomeLength);
+        blocks = null;
+        blockHashes = null;
+        return genome;
+    }
+}
@@ -1,12 +1,29 @@
 package agh.oop.model.objects.inheritance;
 
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public abstract class Mutation {
     protected final int mutationCount;
 
     protected Mutation(int[] mutationRange){
-        this.mutationCount = mutationRange[0] + (int) (Math.random()*(mutationRange[1]-mutationRange[0]+1));
+        this(mutationRange, ThreadLocalRandom.current());
+    }
+
+    protected Mutation(int[] mutationRange, RandomGenerator random){
+        this.mutationCount = mutationRange[0] + random.nextInt(mutationRange[1]-mutationRange[0]+1);
+    }
+
+    abstract void apply(GenomeWriter writer, RandomGenerator random);
+
+    public Genome mutate(Genome genome) {
+        var writer = new GenomeWriter(genome);
+        apply(writer, ThreadLocalRandom.current());
+        return writer.toGenome();
+    }
+
+    public List<Integer> mutateGenome(Genome genome) {
+        return mutate(genome).getGeneList();
     }
-    public abstract List<Integer> mutateGenome(Genome genome);
 }
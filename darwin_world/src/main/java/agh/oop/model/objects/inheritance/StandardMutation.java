@@ -1,26 +1,23 @@
 package agh.oop.model.objects.inheritance;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 
 public class StandardMutation extends Mutation {
     public StandardMutation(int[] mutationRange) {
         super(mutationRange);
     }
+
+    public StandardMutation(int[] mutationRange, RandomGenerator random) {
+        super(mutationRange, random);
+    }
     @Override
-    public List<Integer> mutateGenome(Genome genome){
-        if(mutationCount==0) return genome.getGeneList();
-        int genomeLength = genome.getGenomeLength();
-        List<Integer> newGeneList = genome.getGeneList();
+    void apply(GenomeWriter writer, RandomGenerator random){
+        int genomeLength = writer.getGenomeLength();
 
         for(int i=0; i<mutationCount; i++) {
-            var randomGene = (int) (Math.random() * 8);
-            var randomGeneIndex = (int) (Math.random() * genomeLength);
-            newGeneList.set(randomGeneIndex, randomGene);
+            var randomGene = random.nextInt(8);
+            var randomGeneIndex = random.nextInt(genomeLength);
+            writer.setGene(randomGeneIndex, randomGene);
         }
-        return newGeneList;
     }
 }
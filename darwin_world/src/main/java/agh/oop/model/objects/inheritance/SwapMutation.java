@@ -1,30 +1,26 @@
 package agh.oop.model.objects.inheritance;
 
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 
 public class SwapMutation extends Mutation {
     public SwapMutation(int[] mutationRange) {
         super(mutationRange);
     }
+
+    public SwapMutation(int[] mutationRange, RandomGenerator random) {
+        super(mutationRange, random);
+    }
     @Override
-    public List<Integer> mutateGenome(Genome genome) {
-        if(mutationCount==0) return genome.getGeneList();
-        int genomeLength = genome.getGenomeLength();
-        List<Integer> newGeneList = genome.getGeneList();
+    void apply(GenomeWriter writer, RandomGenerator random) {
+        int genomeLength = writer.getGenomeLength();
 
         for(int i=0; i<mutationCount; i++) {
-            var firstRandomGeneIndex = (int) (Math.random() * genomeLength);
-            var secondRandomGeneIndex = (int) (Math.random() * (genomeLength - 1));
+            var firstRandomGeneIndex = random.nextInt(genomeLength);
+            var secondRandomGeneIndex = random.nextInt(genomeLength - 1);
             if (firstRandomGeneIndex <= secondRandomGeneIndex) secondRandomGeneIndex++;
-            int tmp = newGeneList.get(firstRandomGeneIndex);
-            newGeneList.set(firstRandomGeneIndex, newGeneList.get(secondRandomGeneIndex));
-            newGeneList.set(secondRandomGeneIndex, tmp);
+            int tmp = writer.geneAt(firstRandomGeneIndex);
+            writer.setGene(firstRandomGeneIndex, writer.geneAt(secondRandomGeneIndex));
+            writer.setGene(secondRandomGeneIndex, tmp);
         }
-        return newGeneList;
     }
 }
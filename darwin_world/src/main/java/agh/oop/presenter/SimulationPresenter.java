@@ -4,6 +4,7 @@ package agh.oop.presenter;
 import agh.oop.model.map.Boundary;
 import agh.oop.model.map.Earth;
 import agh.oop.model.map.Vector2d;
+import agh.oop.model.map.WorldSnapshot;
 import agh.oop.model.objects.Animal;
 import agh.oop.presenter.generator.ImageGenerator;
 import agh.oop.simulation.Simulation;
@@ -68,7 +69,11 @@ public class SimulationPresenter implements ChangeListener {
     private Simulation simulationToRun;
     private Statistics statistics;
     private final List<Label> toBeCleared = new LinkedList<>();
-    private Optional<Animal> spectatedAnimal = Optional.empty();
+    private final Map<Vector2d, Label> plantLabels = new HashMap<>();
+    private final Map<Vector2d, Label> animalLabels = new HashMap<>();
+    private int drawnDay = -1;
+    private WorldSnapshot drawnSnapshot;
+    private volatile Optional<Animal> spectatedAnimal = Optional.empty();
     private AnimalStatistics spectatedAnimalStatistics;
 
 
@@ -83,6 +88,8 @@ public class SimulationPresenter implements ChangeListener {
 
         switch (mapID) {
             case "p1":
+            case "p3":
+            case "p4":
                 specialAreaImageList = imageGenerator.generateImageList("images/jungle.png", 0.5);
                 break;
             case "p2":
@@ -120,11 +127,16 @@ public class SimulationPresenter implements ChangeListener {
 
     @Override
     public void mapChanged(Earth earth, String message) {
+        var snapshot = earth.getSnapshot();
+        var spectated = spectatedAnimal;
+        var spectatedStatistics = spectated.map(simulationToRun::getAnimalStatistics);
         Platform.runLater(() -> {
-            drawMapElements(earth);
+            drawMapElements(snapshot);
             infoLabel.setText(message);
             setStatistics();
-            spectatedAnimal.ifPresent(this::spectateAnimal);
+            if (spectated.isPresent() && spectatedAnimal.equals(spectated)) {
+                spectateAnimal(snapshot, spectated.get(), spectatedStatistics.get());
+            }
         });
     }
 
@@ -177,46 +189,78 @@ public class SimulationPresenter implements ChangeListener {
         }
     }
 
-    public void drawMapElements(Earth earth) {
+    public void drawMapElements(WorldSnapshot snapshot) {
         clearGrid(mapGrid);
-        var plantsMap = earth.getPlants();
-        var animalsMap = earth.getAnimals();
-        for (Vector2d position : plantsMap.keySet()) {
-            var plant = plantsMap.get(position);
+        var removedLabels = new HashSet<Node>();
+        if (snapshot.day() == drawnDay + 1) {
+            for (Vector2d position : snapshot.changes().positions()) {
+                drawField(snapshot, position, removedLabels);
+            }
+        }
+        else {
+            removedLabels.addAll(plantLabels.values());
+            removedLabels.addAll(animalLabels.values());
+            plantLabels.clear();
+            animalLabels.clear();
+            for (Vector2d position : snapshot.plants().keySet()) {
+                drawField(snapshot, position, removedLabels);
+            }
+            for (Vector2d position : snapshot.animals().keySet()) {
+                if (!snapshot.plants().containsKey(position)) {
+                    drawField(snapshot, position, removedLabels);
+                }
+            }
+        }
+        mapGrid.getChildren().removeAll(removedLabels);
+        drawnDay = snapshot.day();
+        drawnSnapshot = snapshot;
+    }
+
+    private void drawField(WorldSnapshot snapshot, Vector2d position, Set<Node> removedLabels) {
+        var oldPlantImage = plantLabels.remove(position);
+        if (oldPlantImage != null) removedLabels.add(oldPlantImage);
+        var oldAnimalImage = animalLabels.remove(position);
+        if (oldAnimalImage != null) removedLabels.add(oldAnimalImage);
+
+        var plant = snapshot.plants().get(position);
+        if (plant != null) {
             var plantImage = new Label("\u2022");
             plantImage.setFont(Font.font(28));
             plantImage.setTextFill(Paint.valueOf(plant.getPlantColor()));
             plantImage.setAlignment(Pos.CENTER);
-            toBeCleared.add(plantImage);
+            plantLabels.put(position, plantImage);
             mapGrid.add(plantImage, position.getX() + 1, position.getY() + 1);
             GridPane.setHalignment(plantImage, HPos.CENTER);
         }
 
-        for (Vector2d position : animalsMap.keySet()) {
-            if (!animalsMap.get(position).isEmpty()) {
-                var firstAnimal = animalsMap.get(position).iterator().next();
-                var animalImage = new Label("\u25FC");
-                animalImage.setOnMouseClicked((mouseEvent) ->
-                    setSpectatedAnimal(firstAnimal)
-                );
-                animalImage.setTextFill(Paint.valueOf(firstAnimal.getAnimalColor()));
-                animalImage.setAlignment(Pos.CENTER);
-                toBeCleared.add(animalImage);
-                mapGrid.add(animalImage, position.getX() + 1, position.getY() + 1);
-                GridPane.setHalignment(animalImage, HPos.CENTER);
-            }
+        var animalsAtPosition = snapshot.animals().get(position);
+        if (animalsAtPosition != null && !animalsAtPosition.isEmpty()) {
+            var firstAnimal = animalsAtPosition.get(0);
+            var animalImage = new Label("\u25FC");
+            animalImage.setOnMouseClicked((mouseEvent) -> {
+                var animalsNow = drawnSnapshot.animals().get(position);
+                if (animalsNow != null && !animalsNow.isEmpty()) {
+                    setSpectatedAnimal(drawnSnapshot, animalsNow.get(0).animal());
+                }
+            });
+            animalImage.setTextFill(Paint.valueOf(firstAnimal.color()));
+            animalImage.setAlignment(Pos.CENTER);
+            animalLabels.put(position, animalImage);
+            mapGrid.add(animalImage, position.getX() + 1, position.getY() + 1);
+            GridPane.setHalignment(animalImage, HPos.CENTER);
         }
     }
 
-    private void setSpectatedAnimal(Animal animal){
+    private void setSpectatedAnimal(WorldSnapshot snapshot, Animal animal){
         spectatedAnimal = Optional.of(animal);
-        spectateAnimal(animal);
+        spectateAnimal(snapshot, animal, simulationToRun.getAnimalStatistics(animal));
     }
 
-    private void spectateAnimal(Animal animal) {
-        spectatedAnimalStatistics = simulationToRun.getAnimalStatistics(animal);
+    private void spectateAnimal(WorldSnapshot snapshot, Animal animal, AnimalStatistics animalStatistics) {
+        spectatedAnimalStatistics = animalStatistics;
         setAnimalStatistics();
-        if(!animal.isDead()) setSpecialAnimalLabel("blue", animal);
+        snapshot.find(animal).ifPresent(animalSnapshot ->
+                setSpecialAnimalLabel("blue", animalSnapshot.position()));
     }
 
     @FXML
@@ -285,23 +329,20 @@ public class SimulationPresenter implements ChangeListener {
         var dominantGenotype = statistics.getDominantGenotype();
         if (dominantGenotype.isEmpty()) return;
         var dominantGenotypeList = dominantGenotype.get();
-        var animals = simulationToRun.getEarth().getAnimals();
-        var animalsKeys = animals.keySet();
-        for (Vector2d position : animalsKeys) {
-            for (var animal : animals.get(position)) {
-                if (animal.getGenome().getGeneList().equals(dominantGenotypeList)) {
-                    setSpecialAnimalLabel("yellow", animal);
-                }
+        if (drawnSnapshot == null) return;
+        for (var animal : drawnSnapshot.aliveAnimals()) {
+            if (animal.genome().hasGenes(dominantGenotypeList)) {
+                setSpecialAnimalLabel("yellow", animal.position());
             }
         }
     }
 
-    public void setSpecialAnimalLabel(String color, Animal animal){
+    public void setSpecialAnimalLabel(String color, Vector2d position){
         var animalImage = new Label("\u25FC");
         animalImage.setTextFill(Paint.valueOf(color));
         animalImage.setAlignment(Pos.CENTER);
         toBeCleared.add(animalImage);
-        mapGrid.add(animalImage, animal.getPosition().getX() + 1, animal.getPosition().getY() + 1);
+        mapGrid.add(animalImage, position.getX() + 1, position.getY() + 1);
         GridPane.setHalignment(animalImage, HPos.CENTER);
     }
 }
@@ -0,0 +1,45 @@
+package agh.oop.simulation;
+
+import java.util.random.RandomGenerator;
+
+// Floyd's algorithm: count distinct numbers from [0, bound) in O(count) time and memory, whatever the bound is.
+public class PositionSampler {
+
+    private PositionSampler() {
+    }
+
+    public static int[] sampleDistinct(int bound, int count, RandomGenerator random) {
+        if (count > bound) {
+            throw new IllegalArgumentException("Cannot choose " + count + " distinct fields out of " + bound);
+        }
+        int[] sample = new int[count];
+        // open addressing table of the chosen numbers, stored as number + 1 so that 0 means an empty slot
+        int[] table = new int[Integer.highestOneBit(Math.max(1, 2 * count)) << 1];
+        int mask = table.length - 1;
+        int size = 0;
+        for (int j = bound - count; j < bound; j++) {
+            int chosen = random.nextInt(j + 1);
+            if (!insert(table, mask, chosen)) {
+                chosen = j;
+                insert(table, mask, chosen);
+            }
+            sample[size++] = chosen;
+        }
+        return sample;
+    }
+
+    private static boolean insert(int[] table, int mask, int number) {
+        int slot = mix(number) & mask;
+        while (table[slot] != 0) {
+            if (table[slot] == number + 1) return false;
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = number + 1;
+        return true;
+    }
+
+    private static int mix(int number) {
+        int hash = number * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
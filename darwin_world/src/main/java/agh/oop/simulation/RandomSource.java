@@ -0,0 +1,86 @@
+package agh.oop.simulation;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Random numbers of one simulation, all of them come from the seed in SimulationData. Every part of the simulation
+// draws from its own stream (SETUP, SPAWNING, ...), so parts running on different threads never share a generator
+// and a change in one part does not shift the numbers of another. Not thread safe, split() gives a stream for a worker.
+public class RandomSource implements RandomGenerator {
+
+    public static final long SETUP = 1;
+    public static final long SPAWNING = 2;
+    public static final long DAYS = 3;
+    public static final long MUTATION = 4;
+    public static final long PARALLEL_DAYS = 5;
+
+    private final long seed;
+    private final SplittableRandom random;
+
+    public RandomSource(long seed) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public RandomSource(long seed, long stream) {
+        this(mix(seed + mix(stream)));
+    }
+
+    private RandomSource(SplittableRandom random) {
+        this.seed = random.nextLong();
+        this.random = random;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    // the same key always gives the same stream, no matter what was drawn from this one before
+    public RandomSource substream(long key) {
+        return new RandomSource(seed, key);
+    }
+
+    // a new independent stream, advances this one
+    public RandomSource split() {
+        return new RandomSource(random.split());
+    }
+
+    public void nextInts(int[] target, int count, int bound) {
+        for (int i = 0; i < count; i++) {
+            target[i] = random.nextInt(bound);
+        }
+    }
+
+    public void nextLongs(long[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = random.nextLong();
+        }
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return random.nextInt(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+}
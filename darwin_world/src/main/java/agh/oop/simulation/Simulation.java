@@ -3,22 +3,29 @@ package agh.oop.simulation;
 import agh.oop.model.map.Boundary;
 import agh.oop.model.map.Earth;
 import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.AnimalAgeing;
 import agh.oop.model.objects.inheritance.Mutation;
 import agh.oop.model.objects.inheritance.StandardMutation;
 import agh.oop.model.objects.inheritance.SwapMutation;
 import agh.oop.presenter.ChangeListener;
+import agh.oop.simulation.data.EngineOptions;
 import agh.oop.simulation.data.SimulationData;
 import agh.oop.simulation.day.AbstractSimulationDay;
 import agh.oop.simulation.day.DefaultSimulationDay;
+import agh.oop.simulation.day.PlantSeekingSimulationDay;
 import agh.oop.simulation.day.VariedSimulationDay;
 import agh.oop.simulation.spawner.AbstractSpawner;
 import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import agh.oop.simulation.spawner.ForestPlantSpawner;
 import agh.oop.simulation.spawner.VariedPlantSpawner;
 import agh.oop.simulation.statistics.AnimalStatistics;
 import agh.oop.simulation.statistics.DescendantsStatistics;
 import agh.oop.simulation.statistics.PlantEatenCountStatistics;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 public class Simulation implements Runnable{
 
@@ -30,14 +37,23 @@ public class Simulation implements Runnable{
     private final List<ChangeListener> listeners = new LinkedList<>();
     private final SimulationData simulationParameters;
     private volatile boolean threadSuspended = false;
+    private final EngineOptions engineOptions;
     private PlantEatenCountStatistics plantEatenCountStatistics;
     private DescendantsStatistics descendantsStatistics;
 
     public Simulation(Earth earth, SimulationData simulationParameters){
+        this(earth, simulationParameters, EngineOptions.DEFAULT);
+    }
+
+    public Simulation(Earth earth, SimulationData simulationParameters, EngineOptions engineOptions){
         this.earth = earth;
         this.simulationParameters = simulationParameters;
+        this.engineOptions = engineOptions;
         this.animals = new HashSet<>();
         configureVariants();
+        if (engineOptions.dayThreads() > 0 && !simulationDay.supportsParallelEngine()) {
+            throw new IllegalArgumentException("Day threads are not supported by this map variant");
+        }
     }
 
     public synchronized boolean isThreadSuspended() {
@@ -62,9 +78,43 @@ public class Simulation implements Runnable{
 
     @Override
     public void run() {
+        ExecutorService spawnWorker = null;
+        if (engineOptions.pipelinedSpawning()) {
+            spawnWorker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "plant-spawn-" + earth.getId());
+                thread.setDaemon(true);
+                return thread;
+            });
+            spawner.usePipeline(spawnWorker);
+        }
+        if (engineOptions.fusedFeeding()) {
+            simulationDay.useFusedFeeding();
+        }
+        if (engineOptions.bulkAgeing()) {
+            earth.useBulkAgeing(AnimalAgeing.preferred());
+        }
+        ForkJoinPool dayPool = null;
+        if (engineOptions.dayThreads() > 0) {
+            dayPool = new ForkJoinPool(engineOptions.dayThreads());
+            simulationDay.useParallelEngine(dayPool, simulationParameters.seed());
+        }
+        try {
+            simulate();
+        } finally {
+            if (spawnWorker != null) {
+                spawnWorker.shutdownNow();
+            }
+            if (dayPool != null) {
+                dayPool.shutdownNow();
+            }
+        }
+    }
+
+    private void simulate() {
         try {
             simulationInitialization.initialize();
             registerAnimalStatistics(animals);
+            earth.publishSnapshot(0);
             notifyListeners("Map " + earth.getId() + " has been initialized! Day " + 0);
             Thread.sleep(1500);
         } catch (InterruptedException e) {
@@ -76,6 +126,7 @@ public class Simulation implements Runnable{
             if (threadSuspended) continue;
             try {
                 simulationDay.simulateOneDay();
+                earth.publishSnapshot(i);
                 notifyListeners("Map " + earth.getId() + " has been changed! Day " + i);
                 Thread.sleep(500);
             } catch (InterruptedException e) {
@@ -90,10 +141,12 @@ public class Simulation implements Runnable{
         Mutation mutation;
         switch(simulationParameters.mutationVariant()){
             case "m2":
-                mutation = new SwapMutation(simulationParameters.mutationRange());
+                mutation = new SwapMutation(simulationParameters.mutationRange(),
+                        new RandomSource(simulationParameters.seed(), RandomSource.MUTATION));
                 break;
             case "m1":
-                mutation = new StandardMutation(simulationParameters.mutationRange());
+                mutation = new StandardMutation(simulationParameters.mutationRange(),
+                        new RandomSource(simulationParameters.seed(), RandomSource.MUTATION));
                 break;
             default:
                 throw new IllegalArgumentException("Unknown mutation variant");
@@ -103,14 +156,22 @@ public class Simulation implements Runnable{
         switch (simulationParameters.mapVariant()) {
             case "p1" -> {
                 spawner = new DefaultPlantSpawner(earth, simulationParameters);
-                var notGrownFields = spawner.getNotGrownFields();
-                simulationDay = new DefaultSimulationDay(earth, animals, notGrownFields, spawner,
+                simulationDay = new DefaultSimulationDay(earth, animals, spawner,
                         mutation, simulationParameters);
             }
             case "p2" -> {
                 spawner = new VariedPlantSpawner(earth, simulationParameters);
-                var notGrownFields = spawner.getNotGrownFields();
-                simulationDay = new VariedSimulationDay(earth, animals, notGrownFields, spawner,
+                simulationDay = new VariedSimulationDay(earth, animals, spawner,
+                        mutation, simulationParameters);
+            }
+            case "p3" -> {
+                spawner = new DefaultPlantSpawner(earth, simulationParameters);
+                simulationDay = new PlantSeekingSimulationDay(earth, animals, spawner,
+                        mutation, simulationParameters);
+            }
+            case "p4" -> {
+                spawner = new ForestPlantSpawner(earth, simulationParameters);
+                simulationDay = new DefaultSimulationDay(earth, animals, spawner,
                         mutation, simulationParameters);
             }
             default -> throw new IllegalArgumentException("Unknown map variant");
@@ -8,6 +8,7 @@ import agh.oop.simulation.data.SimulationData;
 import agh.oop.simulation.spawner.AbstractSpawner;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class SimulationInitializer{
 
@@ -19,6 +20,7 @@ public class SimulationInitializer{
     private final HashSet<Animal> animals;
     private final int copulateEnergy;
     private final AbstractSpawner spawner;
+    private final RandomSource random;
 
     public SimulationInitializer(Earth earth, HashSet<Animal> animals,
                                  AbstractSpawner spawner, SimulationData simulationParameters) {
@@ -29,6 +31,7 @@ public class SimulationInitializer{
         this.animals = animals;
         this.copulateEnergy = simulationParameters.copulateEnergy();
         this.spawner = spawner;
+        this.random = new RandomSource(simulationParameters.seed(), RandomSource.SETUP);
     }
 
     public void initialize() {
@@ -36,24 +39,25 @@ public class SimulationInitializer{
         spawner.spawnPlants();
     }
 
-    private Genome generateGenome(){
-        List<Integer> geneList = new ArrayList<>();
-        for(int i=0; i<genomeLength; i++){
-            geneList.add((int)(Math.random()*8));
-        }
-        return new Genome(geneList, genomeLength);
+    // genomes do not depend on each other, so they are drawn on all cores, each one from the substream of its animal
+    private Genome[] generateGenomes(){
+        Genome[] genomes = new Genome[animalNumber];
+        IntStream.range(0, animalNumber).parallel()
+                .forEach(i -> genomes[i] = Genome.random(genomeLength, random.substream(i)));
+        return genomes;
+    }
+
+    private int[] generatePositions(){
+        return PositionSampler.sampleDistinct(earth.getArea(), animalNumber, random);
     }
 
     private void generateAnimals(){
-        List<Vector2d> freePositions = new ArrayList<>();
-        for(int i=0; i<=earth.getBounds().upperRight().getX(); i++){
-            for(int j=0; j<=earth.getBounds().upperRight().getY(); j++){
-                freePositions.add(new Vector2d(i,j));
-            }
-        }
-        Collections.shuffle(freePositions);
+        int width = earth.getBounds().upperRight().getX()+1;
+        int[] positions = generatePositions();
+        Genome[] genomes = generateGenomes();
         for(int i=0; i<animalNumber; i++){
-            var animal = new Animal(freePositions.get(i), initialEnergy, generateGenome(), copulateEnergy);
+            var position = new Vector2d(positions[i] % width, positions[i] / width);
+            var animal = new Animal(earth.nextAnimalId(), position, initialEnergy, genomes[i], copulateEnergy, random);
             animals.add(animal);
             earth.placeAnimal(animal);
         }
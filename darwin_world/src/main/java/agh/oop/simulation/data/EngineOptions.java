@@ -0,0 +1,21 @@
+package agh.oop.simulation.data;
+
+import java.util.List;
+
+// How the days of a simulation are computed, fixed when the simulation is created. A seed gives the same simulation
+// for the same options, but the parallel days and the pipelined spawning draw their numbers differently, so switching
+// them changes the run. dayThreads = 0 computes the days on the simulation thread. storageVariant is passed to Earth.
+public record EngineOptions(boolean pipelinedSpawning, int dayThreads, boolean fusedFeeding, boolean bulkAgeing,
+                            String storageVariant) {
+
+    public static final EngineOptions DEFAULT = new EngineOptions(false, 0, false, false, "hash");
+
+    public EngineOptions {
+        if (dayThreads < 0) {
+            throw new IllegalArgumentException("Number of day threads cannot be negative");
+        }
+        if (!List.of("hash", "grid", "chunked", "concurrent").contains(storageVariant)) {
+            throw new IllegalArgumentException("Unknown storage variant");
+        }
+    }
+}
@@ -1,5 +1,17 @@
 package agh.oop.simulation.data;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public record SimulationData(int simulationLength, int reproduceEnergy, int copulateEnergy, int newPlantNumber,
                              int plantEnergy, int newAnimalNumber, int genomeLength, int initialEnergy,
-                             int[] mutationRange, String mutationVariant, String mapVariant) {}
+                             int[] mutationRange, String mutationVariant, String mapVariant, long seed) {
+
+    // without a given seed every simulation gets a new one
+    public SimulationData(int simulationLength, int reproduceEnergy, int copulateEnergy, int newPlantNumber,
+                          int plantEnergy, int newAnimalNumber, int genomeLength, int initialEnergy,
+                          int[] mutationRange, String mutationVariant, String mapVariant) {
+        this(simulationLength, reproduceEnergy, copulateEnergy, newPlantNumber, plantEnergy, newAnimalNumber,
+                genomeLength, initialEnergy, mutationRange, mutationVariant, mapVariant,
+                ThreadLocalRandom.current().nextLong());
+    }
+}
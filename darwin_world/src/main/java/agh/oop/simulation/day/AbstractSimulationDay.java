@@ -1,129 +1,215 @@
 package agh.oop.simulation.day;
 
 import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
 import agh.oop.model.map.Vector2d;
 import agh.oop.model.objects.Animal;
 import agh.oop.model.objects.Plant;
+import agh.oop.model.objects.inheritance.Genome;
+import agh.oop.model.objects.inheritance.GenomeBreeder;
 import agh.oop.model.objects.inheritance.Mutation;
+import agh.oop.simulation.RandomSource;
 import agh.oop.simulation.data.SimulationData;
 import agh.oop.simulation.spawner.AbstractSpawner;
 import agh.oop.simulation.statistics.AnimalChangeListener;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 public abstract class AbstractSimulationDay {
 
     protected final Earth earth;
     protected final HashSet<Animal> animals;
-    protected final HashSet<Vector2d> notGrownFields;
     protected final int reproduceEnergy;
     protected final int newPlantNumber;
     protected final int plantEnergy;
     protected final AbstractSpawner spawner;
     protected final Mutation mutation;
+    protected final RandomSource random;
+    private final GenomeBreeder breeder;
+    private Animal[] breedingPairs = new Animal[64];
+    private int breedingPairCount = 0;
+    private ParallelDayEngine parallelEngine = null;
+    private boolean fusedFeeding = false;
     protected int day = 1;
     private final List<AnimalChangeListener> listeners = new LinkedList<>();
 
 
     public AbstractSimulationDay(Earth earth, HashSet<Animal> animals,
-                                 HashSet<Vector2d> notGrownFields,
                                  AbstractSpawner spawner, Mutation mutation, SimulationData simulationParameters) {
         this.earth = earth;
         this.animals = animals;
-        this.notGrownFields = notGrownFields;
         this.reproduceEnergy = simulationParameters.reproduceEnergy();
         this.newPlantNumber = simulationParameters.newPlantNumber();
         this.plantEnergy = simulationParameters.plantEnergy();
         this.spawner = spawner;
         this.mutation = mutation;
+        this.breeder = new GenomeBreeder(mutation);
+        this.random = new RandomSource(simulationParameters.seed(), RandomSource.DAYS);
+    }
+
+    // from now on the map phases of a day run on the pool, with births drawn from the seed
+    public void useParallelEngine(ForkJoinPool pool, long seed) {
+        if (!supportsParallelEngine()) {
+            throw new IllegalStateException("The parallel engine does not support this map variant");
+        }
+        parallelEngine = new ParallelDayEngine(earth, mutation, pool, new RandomSource(seed, RandomSource.PARALLEL_DAYS));
+    }
+
+    // eating and choosing the parents then happen in a single visit of every occupied field,
+    // the parallel engine, when used, keeps its own phases
+    public void useFusedFeeding() {
+        fusedFeeding = true;
     }
 
     public void simulateOneDay(){
         removeDeadAnimals();
         moveAnimals();
-        animalsEat();
-        reproduceAnimals();
+        if (parallelEngine != null) parallelEngine.collectOccupiedFields();
+        if (fusedFeeding && parallelEngine == null) {
+            eatAndReproduce();
+        }
+        else {
+            animalsEat();
+            reproduceAnimals();
+        }
         spawner.spawnPlants();
         day+=1;
     }
 
     protected abstract void moveAnimals();
 
+    // the parallel engine moves the animals by their genomes only, the variants steering them in other ways
+    // would move them one by one on the simulation thread, so they do not use it
+    public boolean supportsParallelEngine() {
+        return true;
+    }
+
+    // moves every animal by its genome only, the variants steering animals in other ways move them themselves
+    protected void moveAllAnimals() {
+        if (parallelEngine != null) parallelEngine.moveAnimals();
+        else earth.moveAllAnimals();
+    }
+
     protected void animalsEat(){
+        if (parallelEngine != null) {
+            for (ParallelDayEngine.Meal meal : parallelEngine.planMeals()) {
+                feed(meal.animal(), meal.position());
+            }
+            return;
+        }
+        // eating does not change the occupied fields, so the animals can eat during the visit
         var animalMap = earth.getAnimals();
-        var plantMap = earth.getPlants();
-        var toBeEaten = new HashMap<Vector2d, Animal>();
-
-        for (Vector2d position : animalMap.keySet()) {
-            if (plantMap.containsKey(position)) {
-                List<Animal> strongest = conflict(animalMap.get(position));
-                toBeEaten.put(position, strongest.get(0));
-                notGrownFields.add(position);
+        for (Vector2d position : earth.getOccupiedFields()) {
+            if (earth.hasPlant(position)) {
+                feed(AnimalRanking.strongest(animalMap.get(position)), position);
             }
         }
-        for (Vector2d position : toBeEaten.keySet()) {
-            Animal animal = toBeEaten.get(position);
-            Plant plant = plantMap.get(position);
-            animal.eat(plant);
-            earth.removePlant(plant);
+    }
+
+    private void feed(Animal animal, Vector2d position) {
+        animal.eat(earth.getPlantEnergy(position));
+        if (!listeners.isEmpty()) {
+            Plant plant = earth.getPlants().get(position);
             notifyStatisticsListeners(animal,Optional.empty(),Optional.of(plant));
         }
-        spawner.setNotGrownFields(notGrownFields);
+        earth.removePlant(position);
+        spawner.fieldFreed(position);
     }
 
     protected void removeDeadAnimals(){
+        for (Animal animal : earth.findAnimalsWithoutEnergy()) {
+            animals.remove(animal);
+            earth.removeAnimal(animal,Optional.of(day));
+        }
+    }
+
+    protected void reproduceAnimals(){
+        if (parallelEngine != null) {
+            for (ParallelDayEngine.Birth birth : parallelEngine.planBirths(day, reproduceEnergy)) {
+                Animal child = birth.dad().reproduce(birth.mom(), birth.genome(), earth.nextAnimalId(),
+                        birth.direction(), birth.activeGene());
+                placeChild(child, birth.dad(), birth.mom());
+            }
+            return;
+        }
+        collectBreedingPairs();
+        placeChildren();
+    }
+
+    // the strongest animal of a field eats its plant and then, with the plant's energy, competes for a partner
+    // the same way as in reproduceAnimals(), children are placed after the visit so the map is not changed while iterated
+    private void eatAndReproduce(){
         var animalMap = earth.getAnimals();
-        var toRemove = new LinkedList<Animal>();
-        if(!animalMap.isEmpty()) {
-            for (Vector2d position : animalMap.keySet()) {
-                var animalList = animalMap.get(position);
-                for (Animal animal : animalList) {
-                    if (animal.getEnergy() <= 0) {
-                        toRemove.add(animal);
-                        animals.remove(animal);
-                    }
-                }
+        for (Vector2d position : earth.getOccupiedFields()) {
+            Set<Animal> animalsAtPosition = animalMap.get(position);
+            if (animalsAtPosition.size() == 1) {
+                if (earth.hasPlant(position)) feed(animalsAtPosition.iterator().next(), position);
+                continue;
+            }
+            if (2*breedingPairCount == breedingPairs.length) {
+                breedingPairs = Arrays.copyOf(breedingPairs, 2*breedingPairs.length);
+            }
+            AnimalRanking.twoStrongest(animalsAtPosition, breedingPairs, 2*breedingPairCount);
+            if (earth.hasPlant(position)) {
+                boolean poisonous = earth.isPoisonousPlant(position);
+                feed(breedingPairs[2*breedingPairCount], position);
+                // a poisonous plant may push the eater below the others
+                if (poisonous) AnimalRanking.twoStrongest(animalsAtPosition, breedingPairs, 2*breedingPairCount);
             }
+            keepPairIfStrongEnough();
         }
-        for (Animal animal : toRemove) {
-            earth.removeAnimal(animal,Optional.of(day));
+        placeChildren();
+    }
+
+    private void placeChildren(){
+        for (int pair = 0; pair < breedingPairCount; pair++) {
+            Animal dad = breedingPairs[2*pair];
+            Animal mom = breedingPairs[2*pair+1];
+            Genome genome = breeder.breed(dad.getGenome(), mom.getGenome(), dad.genomeShare(mom), random);
+            Animal child = dad.reproduce(mom, genome, earth.nextAnimalId(), MapDirection.generate(random),
+                    random.nextInt(genome.getGenomeLength()));
+            placeChild(child, dad, mom);
         }
+        Arrays.fill(breedingPairs, 0, 2*breedingPairCount, null);
+        breedingPairCount = 0;
     }
 
-    protected void reproduceAnimals(){
+    private void placeChild(Animal child, Animal dad, Animal mom) {
+        dad.incrementChildrenCount();
+        mom.incrementChildrenCount();
+        animals.add(child);
+        earth.placeAnimal(child);
+        if (!listeners.isEmpty()) {
+            notifyStatisticsListeners(child,Optional.of(List.of(dad,mom)),Optional.empty());
+        }
+    }
+
+    // pairs are collected before any child is placed, so the map is not changed while it is iterated
+    private void collectBreedingPairs(){
         var animalMap = earth.getAnimals();
-        var toPlace = new LinkedList<Animal>();
-        for (Vector2d position : animalMap.keySet()) {
-            if (animalMap.get(position).size() > 1) {
-                List<Animal> strongest = conflict(animalMap.get(position));
-                Animal dad = strongest.get(0);
-                Animal mom = strongest.get(1);
-                if (mom.getEnergy() >= reproduceEnergy) {
-                    Animal child = dad.reproduce(mom,mutation);
-                    toPlace.add(child);
-                    animals.add(child);
-                    dad.incrementChildrenCount();
-                    mom.incrementChildrenCount();
-                    notifyStatisticsListeners(child,Optional.of(List.of(dad,mom)),Optional.empty());
+        for (Vector2d position : earth.getOccupiedFields()) {
+            Set<Animal> animalsAtPosition = animalMap.get(position);
+            if (animalsAtPosition.size() > 1) {
+                if (2*breedingPairCount == breedingPairs.length) {
+                    breedingPairs = Arrays.copyOf(breedingPairs, 2*breedingPairs.length);
                 }
+                AnimalRanking.twoStrongest(animalsAtPosition, breedingPairs, 2*breedingPairCount);
+                keepPairIfStrongEnough();
             }
         }
-        for (Animal animal : toPlace){
-            earth.placeAnimal(animal);
-        }
     }
 
-    protected List<Animal> conflict(HashSet<Animal> animals){
-        List<Animal> strongest = animals.stream()
-                .sorted(Comparator.comparingInt(Animal::getEnergy)
-                        .thenComparingInt(Animal::getLifeLength)
-                        .thenComparingInt(Animal::getChildrenCount)
-                        .thenComparing(Animal::getId))
-                .collect(Collectors.toList());
-        Collections.reverse(strongest);
-        return strongest;
+    private void keepPairIfStrongEnough(){
+        if (breedingPairs[2*breedingPairCount+1].getEnergy() >= reproduceEnergy) {
+            breedingPairCount++;
+        }
+        else {
+            breedingPairs[2*breedingPairCount] = null;
+            breedingPairs[2*breedingPairCount+1] = null;
+        }
     }
+
     public void registerStatisticsListener(AnimalChangeListener listener) {
         listeners.add(listener);
     }
@@ -0,0 +1,51 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.objects.Animal;
+
+import java.util.Collection;
+import java.util.Comparator;
+
+// Order in which animals on one field get a plant or a partner:
+// more energy first, then the older one, then the one with more children, then the higher id.
+public class AnimalRanking {
+
+    public static final Comparator<Animal> WEAKEST_FIRST = AnimalRanking::compare;
+
+    private AnimalRanking() {
+    }
+
+    public static int compare(Animal first, Animal second) {
+        int result = Integer.compare(first.getEnergy(), second.getEnergy());
+        if (result == 0) result = Integer.compare(first.getLifeLength(), second.getLifeLength());
+        if (result == 0) result = Integer.compare(first.getChildrenCount(), second.getChildrenCount());
+        if (result == 0) result = Integer.compare(first.getId(), second.getId());
+        return result;
+    }
+
+    public static Animal strongest(Collection<Animal> animals) {
+        Animal strongest = null;
+        for (Animal animal : animals) {
+            if (strongest == null || compare(animal, strongest) > 0) {
+                strongest = animal;
+            }
+        }
+        return strongest;
+    }
+
+    // writes the strongest animal to target[offset] and the second one to target[offset+1]
+    public static void twoStrongest(Collection<Animal> animals, Animal[] target, int offset) {
+        Animal first = null;
+        Animal second = null;
+        for (Animal animal : animals) {
+            if (first == null || compare(animal, first) > 0) {
+                second = first;
+                first = animal;
+            }
+            else if (second == null || compare(animal, second) > 0) {
+                second = animal;
+            }
+        }
+        target[offset] = first;
+        target[offset + 1] = second;
+    }
+}
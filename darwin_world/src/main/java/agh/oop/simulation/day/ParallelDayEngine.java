@@ -0,0 +1,127 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Genome;
+import agh.oop.model.objects.inheritance.GenomeBreeder;
+import agh.oop.model.objects.inheritance.Mutation;
+import agh.oop.simulation.RandomSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+// Runs the move, eat and reproduce phases of a day on a fork-join pool. Moves do not depend on each other, so they are
+// split by animal, see Earth.moveAllAnimals(ForkJoinPool). For eating and reproducing the map is cut into stripes of
+// STRIPE_ROWS rows, one task per stripe only reads the map and writes what it wants to change to the outbox of its stripe.
+// After the barrier the outboxes are applied on the calling thread, stripe by stripe and field by field in row order,
+// so the result does not depend on the number of threads. A birth draws from the substream of the day and the field,
+// never from a generator shared between threads.
+class ParallelDayEngine {
+
+    static final int STRIPE_ROWS = 16;
+
+    record Meal(Vector2d position, Animal animal) {}
+
+    record Birth(Animal dad, Animal mom, Genome genome, MapDirection direction, int activeGene) {}
+
+    private final Earth earth;
+    private final ForkJoinPool pool;
+    private final RandomSource random;
+    private final int width;
+    private final long area;
+    private final int stripeCount;
+    private final ThreadLocal<GenomeBreeder> breeders;
+    private List<List<Vector2d>> occupiedFields;
+
+    ParallelDayEngine(Earth earth, Mutation mutation, ForkJoinPool pool, RandomSource random) {
+        this.earth = earth;
+        this.pool = pool;
+        this.random = random;
+        this.width = earth.getBounds().upperRight().getX() + 1;
+        int height = earth.getBounds().upperRight().getY() + 1;
+        this.area = (long) width * height;
+        this.stripeCount = (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+        this.breeders = ThreadLocal.withInitial(() -> new GenomeBreeder(mutation));
+    }
+
+    void moveAnimals() {
+        earth.moveAllAnimals(pool);
+    }
+
+    List<Meal> planMeals() {
+        List<List<Meal>> outboxes = outboxes();
+        forEachStripe(stripe -> {
+            for (Vector2d position : occupiedFields.get(stripe)) {
+                if (earth.hasPlant(position)) {
+                    outboxes.get(stripe).add(new Meal(position, AnimalRanking.strongest(earth.getAnimals().get(position))));
+                }
+            }
+        });
+        return merge(outboxes);
+    }
+
+    List<Birth> planBirths(int day, int reproduceEnergy) {
+        List<List<Birth>> outboxes = outboxes();
+        forEachStripe(stripe -> {
+            Animal[] pair = new Animal[2];
+            GenomeBreeder breeder = breeders.get();
+            for (Vector2d position : occupiedFields.get(stripe)) {
+                Set<Animal> animals = earth.getAnimals().get(position);
+                if (animals.size() < 2) continue;
+                AnimalRanking.twoStrongest(animals, pair, 0);
+                if (pair[1].getEnergy() < reproduceEnergy) continue;
+                RandomSource random = randomFor(day, position);
+                Genome genome = breeder.breed(pair[0].getGenome(), pair[1].getGenome(), pair[0].genomeShare(pair[1]), random);
+                MapDirection direction = MapDirection.convertNumber(random.nextInt(8));
+                outboxes.get(stripe).add(new Birth(pair[0], pair[1], genome, direction,
+                        random.nextInt(genome.getGenomeLength())));
+            }
+        });
+        return merge(outboxes);
+    }
+
+    private RandomSource randomFor(int day, Vector2d position) {
+        return random.substream(day * area + (long) position.getY() * width + position.getX());
+    }
+
+    // the occupied fields of every stripe in row order, as Earth.getOccupiedFields() gives them,
+    // eating and reproducing do not move animals, so they are split once a day after the move
+    void collectOccupiedFields() {
+        occupiedFields = outboxes();
+        for (Vector2d position : earth.getOccupiedFields()) {
+            occupiedFields.get(position.getY() / STRIPE_ROWS).add(position);
+        }
+    }
+
+    private <T> List<List<T>> outboxes() {
+        List<List<T>> outboxes = new ArrayList<>(stripeCount);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            outboxes.add(new ArrayList<>());
+        }
+        return outboxes;
+    }
+
+    private static <T> List<T> merge(List<List<T>> outboxes) {
+        List<T> merged = new ArrayList<>();
+        for (List<T> outbox : outboxes) {
+            merged.addAll(outbox);
+        }
+        return merged;
+    }
+
+    // returns when the phase has finished for all stripes
+    private void forEachStripe(IntConsumer phase) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(stripeCount);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            int current = stripe;
+            tasks.add(ForkJoinTask.adapt(() -> phase.accept(current)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+}
@@ -0,0 +1,61 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.NeighbourhoodIndex;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Mutation;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.spawner.AbstractSpawner;
+
+import java.util.HashSet;
+import java.util.Optional;
+
+// Animals sense the nearest plant within SENSING_RADIUS and turn one step from the direction given by their genome towards it.
+public class PlantSeekingSimulationDay extends AbstractSimulationDay {
+
+    public static final int SENSING_RADIUS = 4;
+
+    public PlantSeekingSimulationDay(Earth earth, HashSet<Animal> animals,
+                                     AbstractSpawner spawner, Mutation mutation, SimulationData simulationParameters) {
+        super(earth, animals, spawner, mutation, simulationParameters);
+    }
+
+    @Override
+    public boolean supportsParallelEngine() {
+        return false;
+    }
+
+    @Override
+    protected void moveAnimals() {
+        NeighbourhoodIndex neighbourhood = earth.getNeighbourhood();
+        for (Animal animal : earth.getAliveAnimalList()) {
+            var position = animal.getPosition();
+            int gene = animal.getActiveGeneValue();
+            var direction = animal.getDirection().shift(gene);
+            Optional<Vector2d> plant = neighbourhood.nearestPlant(position, SENSING_RADIUS);
+            if (plant.isPresent()) {
+                int dx = neighbourhood.wrappedDx(position.getX(), plant.get().getX());
+                int dy = plant.get().getY() - position.getY();
+                var turned = turnTowards(direction, dx, dy);
+                // the move applies the active gene once more, so it is taken back here
+                animal.setDirection(turned.shift(8 - gene));
+            }
+            earth.move(animal);
+        }
+    }
+
+    static MapDirection turnTowards(MapDirection direction, int dx, int dy) {
+        if (dx == 0 && dy == 0) return direction;
+        MapDirection target = direction;
+        for (MapDirection candidate : MapDirection.values()) {
+            if (candidate.getDx() == Integer.signum(dx) && candidate.getDy() == Integer.signum(dy)) {
+                target = candidate;
+            }
+        }
+        int difference = Math.floorMod(target.ordinal() - direction.ordinal(), 8);
+        if (difference == 0) return direction;
+        return direction.shift(difference <= 4 ? 1 : 7);
+    }
+}
@@ -3,38 +3,66 @@ package agh.oop.simulation.spawner;
 import agh.oop.model.map.Boundary;
 import agh.oop.model.map.Earth;
 import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.RandomSource;
 import agh.oop.simulation.data.SimulationData;
 
-import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 public abstract class AbstractSpawner {
 
     protected final Earth earth;
-    protected HashSet<Vector2d> notGrownFields;
     protected final int newPlantNumber;
     protected final int plantEnergy;
+    protected final RandomSource random;
+    private CandidatePipeline pipeline = null;
 
     public AbstractSpawner(Earth earth, SimulationData simulationParameters){
         this.earth = earth;
-        this.notGrownFields = new HashSet<>();
-        for(int i=0; i<=earth.getBounds().upperRight().getX(); i++){
-            for(int j=0; j<=earth.getBounds().upperRight().getY(); j++){
-                notGrownFields.add(new Vector2d(i,j));
-            }
-        }
         this.newPlantNumber = simulationParameters.newPlantNumber();
         this.plantEnergy = simulationParameters.plantEnergy();
+        this.random = new RandomSource(simulationParameters.seed(), RandomSource.SPAWNING);
+    }
+
+    public void usePipeline(ExecutorService worker) {
+        pipeline = new CandidatePipeline(worker, getZones(), newPlantNumber, random.split());
     }
 
-    public void setNotGrownFields(HashSet<Vector2d> notGrownFields){
-        this.notGrownFields = notGrownFields;
+    public void spawnPlants() {
+        placePlants();
+        if (pipeline != null) {
+            pipeline.drawNext();
+        }
     }
 
-    public HashSet<Vector2d> getNotGrownFields() {
-        return new HashSet<>(notGrownFields);
+    protected abstract void placePlants();
+
+    protected abstract List<FreeFields> getZones();
+
+    // gives count free fields of the zone to the action, one by one,
+    // with the pipeline on they come from the precomputed candidates as long as those are still free,
+    // the fields missing after the candidates run out are then taken in a single draw from the zone
+    protected void forEachNewField(int zone, int count, Consumer<Vector2d> action) {
+        FreeFields fields = getZones().get(zone);
+        if (pipeline == null) {
+            fields.takeRandom(count, random).forEach(action);
+            return;
+        }
+        int taken = 0;
+        Vector2d candidate;
+        while (taken < count && (candidate = pipeline.nextCandidate(zone)) != null) {
+            if (fields.take(candidate)) {
+                action.accept(candidate);
+                taken++;
+            }
+        }
+        if (taken < count) {
+            fields.takeRandom(count - taken, random).forEach(action);
+        }
     }
 
-    public abstract void spawnPlants();
+    public abstract void fieldFreed(Vector2d position);
 
     public abstract Boundary getSpecialAreaBorders();
 }
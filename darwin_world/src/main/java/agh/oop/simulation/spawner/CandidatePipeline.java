@@ -0,0 +1,65 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Vector2d;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+// Draws candidate fields for the next spawn on a worker thread, while the animals of the current day move, eat and reproduce.
+// Candidates are drawn from the zone borders only, the spawner checks whether they are still free when it uses them.
+class CandidatePipeline {
+
+    private final ExecutorService worker;
+    private final List<FreeFields> zones;
+    private final int candidatesPerZone;
+    private final RandomGenerator random;
+    private Future<Vector2d[][]> drawing;
+    private Vector2d[][] candidates = null;
+    private int[] used;
+
+    // the generator is used only by the worker
+    CandidatePipeline(ExecutorService worker, List<FreeFields> zones, int candidatesPerZone, RandomGenerator random) {
+        this.worker = worker;
+        this.zones = zones;
+        this.candidatesPerZone = candidatesPerZone;
+        this.random = random;
+        drawNext();
+    }
+
+    void drawNext() {
+        candidates = null;
+        drawing = worker.submit(this::draw);
+    }
+
+    private Vector2d[][] draw() {
+        Vector2d[][] drawn = new Vector2d[zones.size()][candidatesPerZone];
+        for (int zone = 0; zone < zones.size(); zone++) {
+            if (zones.get(zone).area() == 0) {
+                drawn[zone] = new Vector2d[0];
+                continue;
+            }
+            for (int i = 0; i < candidatesPerZone; i++) {
+                drawn[zone][i] = zones.get(zone).randomPosition(random);
+            }
+        }
+        return drawn;
+    }
+
+    Vector2d nextCandidate(int zone) {
+        if (candidates == null) {
+            try {
+                candidates = drawing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for plant candidates", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Drawing plant candidates failed", e.getCause());
+            }
+            used = new int[zones.size()];
+        }
+        return used[zone] < candidates[zone].length ? candidates[zone][used[zone]++] : null;
+    }
+}
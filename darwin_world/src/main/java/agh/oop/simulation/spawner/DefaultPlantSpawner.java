@@ -3,53 +3,79 @@ package agh.oop.simulation.spawner;
 import agh.oop.model.map.Boundary;
 import agh.oop.model.map.Earth;
 import agh.oop.model.map.Vector2d;
-import agh.oop.model.objects.Plant;
 import agh.oop.simulation.data.SimulationData;
 
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class DefaultPlantSpawner extends AbstractSpawner {
     private final Boundary equatorBorders;
+    private final FreeFields equatorFields;
+    private final FreeFields steppeFields;
+    private final List<FreeFields> zones;
+    private final int[] draws;
 
     public DefaultPlantSpawner(Earth earth, SimulationData simulationParameters) {
         super(earth, simulationParameters);
         int lowerEquatorBorder = (int)(Math.ceil(earth.getBounds().upperRight().getY()/5.0 *2));
         int upperEquatorBorder = lowerEquatorBorder + (int)(Math.ceil((earth.getBounds().upperRight().getY()+1)/5.0)-1);
         this.equatorBorders = new Boundary(new Vector2d(0,lowerEquatorBorder), new Vector2d(earth.getBounds().upperRight().getX(),upperEquatorBorder));
+        this.equatorFields = FreeFields.of(earth, List.of(equatorBorders));
+        this.steppeFields = FreeFields.of(earth, generateSteppeBorders());
+        this.zones = List.of(equatorFields, steppeFields);
+        this.draws = new int[newPlantNumber];
+    }
+
+    private List<Boundary> generateSteppeBorders() {
+        var upperRight = earth.getBounds().upperRight();
+        List<Boundary> steppeBorders = new ArrayList<>();
+        if (equatorBorders.lowerLeft().getY() > 0) {
+            steppeBorders.add(new Boundary(new Vector2d(0, 0),
+                    new Vector2d(upperRight.getX(), equatorBorders.lowerLeft().getY() - 1)));
+        }
+        if (equatorBorders.upperRight().getY() < upperRight.getY()) {
+            steppeBorders.add(new Boundary(new Vector2d(0, equatorBorders.upperRight().getY() + 1), upperRight));
+        }
+        return steppeBorders;
+    }
+
+    private boolean isEquator(Vector2d position) {
+        return position.getY() >= equatorBorders.lowerLeft().getY() && position.getY() <= equatorBorders.upperRight().getY();
     }
 
     @Override
-    public void spawnPlants(){
-        var lowerBorder = equatorBorders.lowerLeft().getY();
-        var upperBorder = equatorBorders.upperRight().getY();
-        List<Vector2d> notGrownEquatorList = notGrownFields.stream()
-                .filter(position -> position.getY() >= lowerBorder && position.getY() <= upperBorder)
-                .collect(Collectors.toList());
-        List<Vector2d> notGrownSteppeList = notGrownFields.stream()
-                .filter(position -> position.getY() < lowerBorder || position.getY() > upperBorder)
-                .collect(Collectors.toList());
-        Collections.shuffle(notGrownEquatorList);
-        Collections.shuffle(notGrownSteppeList);
-
-        Iterator<Vector2d> equatorIterator = notGrownEquatorList.iterator();
-        Iterator<Vector2d> steppeIterator = notGrownSteppeList.iterator();
-
-
-        for(int i=0; i<newPlantNumber && i<notGrownFields.size(); i++){
-            Vector2d position;
-            int random = (int)(Math.random()*5);
-            if((random<4 || !steppeIterator.hasNext()) && equatorIterator.hasNext() ){
-                position = equatorIterator.next();
+    protected List<FreeFields> getZones() {
+        return zones;
+    }
+
+    @Override
+    protected void placePlants(){
+        long equatorFreeFields = equatorFields.size();
+        long steppeFreeFields = steppeFields.size();
+        int equatorPlants = 0;
+        int steppePlants = 0;
+
+        int plantNumber = (int) Math.min(newPlantNumber, equatorFreeFields+steppeFreeFields);
+        random.nextInts(draws, plantNumber, 5);
+        for(int i=0; i<plantNumber; i++){
+            if((draws[i]<4 || steppePlants==steppeFreeFields) && equatorPlants<equatorFreeFields){
+                equatorPlants++;
             }
             else {
-                position = steppeIterator.next();
+                steppePlants++;
             }
-            Plant newPlant = new Plant(position ,plantEnergy,false);
-            notGrownFields.remove(position);
-            earth.placePlant(newPlant);
+        }
+        forEachNewField(0, equatorPlants, position -> earth.placePlant(position, plantEnergy, false));
+        forEachNewField(1, steppePlants, position -> earth.placePlant(position, plantEnergy, false));
+    }
+
+    @Override
+    public void fieldFreed(Vector2d position) {
+        if (isEquator(position)) {
+            equatorFields.add(position);
+        }
+        else {
+            steppeFields.add(position);
         }
     }
 
@@ -0,0 +1,156 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Boundary;
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.data.SimulationData;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Spreading forest: every day a free field sprouts with a chance given by the number of its eight neighbours holding plants,
+// 1/32 for one neighbour, 1/8 for two or three and 1/2 for four or more. New seeds fall only in the grove in the middle of the map.
+// The plant layer is a bitset, 64 fields per long, and the neighbours of a whole word are counted at once.
+public class ForestPlantSpawner extends AbstractSpawner {
+
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long lastWordMask;
+    private final Boundary groveBorders;
+    private long[] plants;
+    private long[] nextPlants;
+    private final long[] neighbourCounts = new long[4];
+    private final long[] rowRandoms;
+
+    public ForestPlantSpawner(Earth earth, SimulationData simulationParameters) {
+        super(earth, simulationParameters);
+        this.width = earth.getBounds().upperRight().getX() + 1;
+        this.height = earth.getBounds().upperRight().getY() + 1;
+        this.wordsPerRow = (width + 63) / 64;
+        this.lastWordMask = width % 64 == 0 ? -1L : (1L << (width % 64)) - 1;
+        this.groveBorders = generateGroveBorders();
+        this.plants = new long[wordsPerRow * height];
+        this.nextPlants = new long[wordsPerRow * height];
+        this.rowRandoms = new long[5 * wordsPerRow];
+        for (Vector2d position : earth.getPlants().keySet()) {
+            set(plants, position.getX(), position.getY());
+        }
+    }
+
+    private Boundary generateGroveBorders() {
+        int groveWidth = Math.max(1, (int) Math.ceil(width * Math.sqrt(0.2)));
+        int groveHeight = Math.max(1, (int) Math.ceil(height * Math.sqrt(0.2)));
+        int x = (width - groveWidth) / 2;
+        int y = (height - groveHeight) / 2;
+        return new Boundary(new Vector2d(x, y), new Vector2d(x + groveWidth - 1, y + groveHeight - 1));
+    }
+
+    private void set(long[] layer, int x, int y) {
+        layer[y * wordsPerRow + x / 64] |= 1L << (x % 64);
+    }
+
+    private boolean isSet(long[] layer, int x, int y) {
+        return (layer[y * wordsPerRow + x / 64] & 1L << (x % 64)) != 0;
+    }
+
+    @Override
+    protected List<FreeFields> getZones() {
+        return List.of();
+    }
+
+    @Override
+    protected void placePlants() {
+        growForest();
+        sowSeeds();
+    }
+
+    private void growForest() {
+        for (int y = 0; y < height; y++) {
+            random.nextLongs(rowRandoms);
+            for (int word = 0; word < wordsPerRow; word++) {
+                int r = 5 * word;
+                long sprouts = sprouts(y, word, rowRandoms[r], rowRandoms[r + 1], rowRandoms[r + 2],
+                        rowRandoms[r + 3], rowRandoms[r + 4]);
+                if (word == wordsPerRow - 1) {
+                    sprouts &= lastWordMask;
+                }
+                int index = y * wordsPerRow + word;
+                nextPlants[index] = plants[index] | sprouts;
+            }
+        }
+        for (int index = 0; index < plants.length; index++) {
+            long sprouts = nextPlants[index] & ~plants[index];
+            while (sprouts != 0) {
+                int bit = Long.numberOfTrailingZeros(sprouts);
+                earth.placePlant(new Vector2d((index % wordsPerRow) * 64 + bit, index / wordsPerRow), plantEnergy, false);
+                sprouts &= sprouts - 1;
+            }
+        }
+        long[] swap = plants;
+        plants = nextPlants;
+        nextPlants = swap;
+    }
+
+    private long word(int y, int word) {
+        if (y < 0 || y >= height || word < 0 || word >= wordsPerRow) return 0;
+        return plants[y * wordsPerRow + word];
+    }
+
+    // adds the one bit neighbour mask to the count kept as four bit planes, bit i of counts[k] is bit k of the count of field i
+    private static void addNeighbours(long[] counts, long neighbours) {
+        long carry0 = counts[0] & neighbours;
+        counts[0] ^= neighbours;
+        long carry1 = counts[1] & carry0;
+        counts[1] ^= carry0;
+        long carry2 = counts[2] & carry1;
+        counts[2] ^= carry1;
+        counts[3] |= carry2;
+    }
+
+    // fields of the word that have no plant and sprout today
+    private long sprouts(int y, int word, long random1, long random2, long random3, long random4, long random5) {
+        long[] counts = neighbourCounts;
+        Arrays.fill(counts, 0);
+        for (int dy = -1; dy <= 1; dy++) {
+            long center = word(y + dy, word);
+            addNeighbours(counts, center << 1 | word(y + dy, word - 1) >>> 63);
+            addNeighbours(counts, center >>> 1 | word(y + dy, word + 1) << 63);
+            if (dy != 0) {
+                addNeighbours(counts, center);
+            }
+        }
+        long atLeastOne = counts[0] | counts[1] | counts[2] | counts[3];
+        long atLeastTwo = counts[1] | counts[2] | counts[3];
+        long atLeastFour = counts[2] | counts[3];
+        long half = random1;
+        long eighth = half & random2 & random3;
+        long thirtySecond = eighth & random4 & random5;
+        return ~word(y, word) & (atLeastFour & half | atLeastTwo & eighth | atLeastOne & thirtySecond);
+    }
+
+    private void sowSeeds() {
+        int groveX = groveBorders.lowerLeft().getX();
+        int groveY = groveBorders.lowerLeft().getY();
+        int groveWidth = groveBorders.upperRight().getX() - groveX + 1;
+        int groveHeight = groveBorders.upperRight().getY() - groveY + 1;
+        for (int i = 0; i < newPlantNumber; i++) {
+            int x = groveX + random.nextInt(groveWidth);
+            int y = groveY + random.nextInt(groveHeight);
+            if (!isSet(plants, x, y)) {
+                set(plants, x, y);
+                earth.placePlant(new Vector2d(x, y), plantEnergy, false);
+            }
+        }
+    }
+
+    @Override
+    public void fieldFreed(Vector2d position) {
+        plants[position.getY() * wordsPerRow + position.getX() / 64] &= ~(1L << (position.getX() % 64));
+    }
+
+    @Override
+    public Boundary getSpecialAreaBorders() {
+        return groveBorders;
+    }
+}
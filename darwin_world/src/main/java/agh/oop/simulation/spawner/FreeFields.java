@@ -0,0 +1,40 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Boundary;
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+public interface FreeFields {
+    // above this many fields the index arrays cost more memory than sampling saves, see ImplicitFreeFields
+    int INDEXED_AREA_LIMIT = 1 << 20;
+
+    static FreeFields of(Earth earth, List<Boundary> areas) {
+        long area = 0;
+        for (Boundary boundary : areas) {
+            area += (long) (boundary.upperRight().getX() - boundary.lowerLeft().getX() + 1)
+                    * (boundary.upperRight().getY() - boundary.lowerLeft().getY() + 1);
+        }
+        return area <= INDEXED_AREA_LIMIT ? new IndexedFreeFields(earth, areas) : new ImplicitFreeFields(earth, areas);
+    }
+
+    boolean contains(Vector2d position);
+
+    long size();
+
+    long area();
+
+    void add(Vector2d position);
+
+    void remove(Vector2d position);
+
+    List<Vector2d> takeRandom(int count, RandomGenerator random);
+
+    // marks the field as taken if it is still free
+    boolean take(Vector2d position);
+
+    // any field of the zone, free or not, it only reads the zone borders so it can run on another thread
+    Vector2d randomPosition(RandomGenerator random);
+}
@@ -0,0 +1,128 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Boundary;
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+public class ImplicitFreeFields implements FreeFields {
+
+    private final Earth earth;
+    private final List<Boundary> areas;
+    // a long, the zones of a sparse map can hold more fields than an int counts
+    private final long area;
+    private int plantCount = 0;
+
+    public ImplicitFreeFields(Earth earth, List<Boundary> areas) {
+        this.earth = earth;
+        this.areas = areas;
+        long area = 0;
+        for (Boundary boundary : areas) {
+            area += (long) width(boundary) * height(boundary);
+        }
+        this.area = area;
+    }
+
+    private static int width(Boundary boundary) {
+        return boundary.upperRight().getX() - boundary.lowerLeft().getX() + 1;
+    }
+
+    private static int height(Boundary boundary) {
+        return boundary.upperRight().getY() - boundary.lowerLeft().getY() + 1;
+    }
+
+    private boolean inAreas(Vector2d position) {
+        for (Boundary boundary : areas) {
+            if (position.follows(boundary.lowerLeft()) && position.precedes(boundary.upperRight())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Vector2d position) {
+        return inAreas(position) && !earth.hasPlant(position);
+    }
+
+    @Override
+    public long size() {
+        return area - plantCount;
+    }
+
+    @Override
+    public long area() {
+        return area;
+    }
+
+    @Override
+    public void add(Vector2d position) {
+        plantCount--;
+    }
+
+    @Override
+    public void remove(Vector2d position) {
+        plantCount++;
+    }
+
+    @Override
+    public List<Vector2d> takeRandom(int count, RandomGenerator random) {
+        int toTake = (int) Math.min(count, size());
+        Set<Vector2d> taken = new LinkedHashSet<>();
+        while (taken.size() < toTake) {
+            if ((size() - taken.size()) * 4 < area) {
+                takeFromAllFreeFields(taken, toTake, random);
+                break;
+            }
+            Vector2d position = randomPosition(random);
+            if (!earth.hasPlant(position)) {
+                taken.add(position);
+            }
+        }
+        plantCount += taken.size();
+        return new ArrayList<>(taken);
+    }
+
+    @Override
+    public boolean take(Vector2d position) {
+        if (!contains(position)) return false;
+        plantCount++;
+        return true;
+    }
+
+    @Override
+    public Vector2d randomPosition(RandomGenerator randomGenerator) {
+        // zones that fit an int keep drawing with nextInt, so the runs of the smaller maps do not change
+        long random = area <= Integer.MAX_VALUE ? randomGenerator.nextInt((int) area) : randomGenerator.nextLong(area);
+        for (Boundary boundary : areas) {
+            long boundaryArea = (long) width(boundary) * height(boundary);
+            if (random < boundaryArea) {
+                return new Vector2d(boundary.lowerLeft().getX() + (int) (random % width(boundary)),
+                        boundary.lowerLeft().getY() + (int) (random / width(boundary)));
+            }
+            random -= boundaryArea;
+        }
+        throw new IllegalStateException("Free fields have no area");
+    }
+
+    private void takeFromAllFreeFields(Set<Vector2d> taken, int toTake, RandomGenerator random) {
+        List<Vector2d> freeFields = new ArrayList<>();
+        for (Boundary boundary : areas) {
+            for (int x = boundary.lowerLeft().getX(); x <= boundary.upperRight().getX(); x++) {
+                for (int y = boundary.lowerLeft().getY(); y <= boundary.upperRight().getY(); y++) {
+                    Vector2d position = new Vector2d(x, y);
+                    if (!earth.hasPlant(position) && !taken.contains(position)) {
+                        freeFields.add(position);
+                    }
+                }
+            }
+        }
+        // the first fields of a Fisher-Yates shuffle drawn from the simulation's generator
+        for (int i = 0; i < freeFields.size() && taken.size() < toTake; i++) {
+            Collections.swap(freeFields, i, i + random.nextInt(freeFields.size() - i));
+            taken.add(freeFields.get(i));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Boundary;
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+// Free fields kept in an array with swap-remove, every field also knows its index in that array,
+// so sampling, adding and removing a field do not depend on the size of the area.
+public class IndexedFreeFields implements FreeFields {
+
+    private final List<Boundary> areas;
+    private final int[] areaOffsets;
+    private final int[] freeFields;
+    private final int[] indexes;
+    private int size = 0;
+
+    public IndexedFreeFields(Earth earth, List<Boundary> areas) {
+        this.areas = areas;
+        this.areaOffsets = new int[areas.size()];
+        int area = 0;
+        for (int i = 0; i < areas.size(); i++) {
+            areaOffsets[i] = area;
+            area += width(areas.get(i)) * height(areas.get(i));
+        }
+        this.freeFields = new int[area];
+        this.indexes = new int[area];
+        Arrays.fill(indexes, -1);
+        for (int field = 0; field < area; field++) {
+            if (!earth.hasPlant(position(field))) {
+                append(field);
+            }
+        }
+    }
+
+    private static int width(Boundary boundary) {
+        return boundary.upperRight().getX() - boundary.lowerLeft().getX() + 1;
+    }
+
+    private static int height(Boundary boundary) {
+        return boundary.upperRight().getY() - boundary.lowerLeft().getY() + 1;
+    }
+
+    private int field(Vector2d position) {
+        for (int i = 0; i < areas.size(); i++) {
+            Boundary boundary = areas.get(i);
+            if (position.follows(boundary.lowerLeft()) && position.precedes(boundary.upperRight())) {
+                return areaOffsets[i] + (position.getY() - boundary.lowerLeft().getY()) * width(boundary)
+                        + position.getX() - boundary.lowerLeft().getX();
+            }
+        }
+        return -1;
+    }
+
+    private Vector2d position(int field) {
+        int i = areas.size() - 1;
+        while (areaOffsets[i] > field) {
+            i--;
+        }
+        Boundary boundary = areas.get(i);
+        int local = field - areaOffsets[i];
+        return new Vector2d(boundary.lowerLeft().getX() + local % width(boundary),
+                boundary.lowerLeft().getY() + local / width(boundary));
+    }
+
+    private void append(int field) {
+        freeFields[size] = field;
+        indexes[field] = size;
+        size++;
+    }
+
+    private void removeAt(int index) {
+        int field = freeFields[index];
+        int last = freeFields[--size];
+        freeFields[index] = last;
+        indexes[last] = index;
+        indexes[field] = -1;
+    }
+
+    @Override
+    public boolean contains(Vector2d position) {
+        int field = field(position);
+        return field >= 0 && indexes[field] >= 0;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long area() {
+        return freeFields.length;
+    }
+
+    @Override
+    public void add(Vector2d position) {
+        int field = field(position);
+        if (field >= 0 && indexes[field] < 0) {
+            append(field);
+        }
+    }
+
+    @Override
+    public void remove(Vector2d position) {
+        int field = field(position);
+        if (field >= 0 && indexes[field] >= 0) {
+            removeAt(indexes[field]);
+        }
+    }
+
+    @Override
+    public boolean take(Vector2d position) {
+        int field = field(position);
+        if (field < 0 || indexes[field] < 0) return false;
+        removeAt(indexes[field]);
+        return true;
+    }
+
+    @Override
+    public Vector2d randomPosition(RandomGenerator random) {
+        return position(random.nextInt(freeFields.length));
+    }
+
+    @Override
+    public List<Vector2d> takeRandom(int count, RandomGenerator random) {
+        int toTake = Math.min(count, size);
+        List<Vector2d> taken = new ArrayList<>(toTake);
+        for (int i = 0; i < toTake; i++) {
+            int index = random.nextInt(size);
+            taken.add(position(freeFields[index]));
+            removeAt(index);
+        }
+        return taken;
+    }
+}
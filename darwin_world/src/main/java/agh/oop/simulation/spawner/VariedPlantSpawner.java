@@ -3,18 +3,20 @@ package agh.oop.simulation.spawner;
 import agh.oop.model.map.Boundary;
 import agh.oop.model.map.Earth;
 import agh.oop.model.map.Vector2d;
-import agh.oop.model.objects.Plant;
 import agh.oop.simulation.data.SimulationData;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 public class VariedPlantSpawner extends AbstractSpawner {
     private final Boundary poisonousAreaBorders;
+    private final FreeFields freeFields;
+    private final List<FreeFields> zones;
     public VariedPlantSpawner(Earth earth, SimulationData simulationParameters) {
         super(earth, simulationParameters);
         this.poisonousAreaBorders = generatePoisonousAreaBorders();
+        this.freeFields = FreeFields.of(earth, List.of(earth.getBounds()));
+        this.zones = List.of(freeFields);
     }
 
     private Boundary generatePoisonousAreaBorders(){
@@ -22,8 +24,8 @@ public class VariedPlantSpawner extends AbstractSpawner {
         int height = (int) earth.getBounds().upperRight().getY() + 1;
         int size = (int) Math.ceil(Math.sqrt(width * height * 0.2));
 
-        int x = (int) Math.floor(Math.random() * (width - size));
-        int y = (int) Math.floor(Math.random() * (height - size));
+        int x = random.nextInt(Math.max(1, width - size));
+        int y = random.nextInt(Math.max(1, height - size));
 
         return new Boundary(new Vector2d(x, y), new Vector2d(x + size, y + size));
     }
@@ -36,25 +38,32 @@ public class VariedPlantSpawner extends AbstractSpawner {
     }
 
     @Override
-    public void spawnPlants(){
-        List<Vector2d> notGrownFieldsList = new ArrayList<>(notGrownFields);
-        Collections.shuffle(notGrownFieldsList);
+    protected List<FreeFields> getZones() {
+        return zones;
+    }
 
-        for(int i = 0;i<newPlantNumber && i<notGrownFields.size();i++){
-            Vector2d position = notGrownFieldsList.get(i);
+    @Override
+    protected void placePlants(){
+        List<Vector2d> rejected = new ArrayList<>();
+        forEachNewField(0, (int) Math.min(newPlantNumber, freeFields.size()), position -> {
             if(isPoisonousArea(position)){
-                int random = (int)(Math.random()*2);
-                if (random == 0){
-                    Plant newPlant = new Plant(position ,plantEnergy,true);
-                    earth.placePlant(newPlant);
+                if (random.nextBoolean()){
+                    earth.placePlant(position, plantEnergy, true);
+                }
+                else {
+                    rejected.add(position);
                 }
             }
             else{
-                Plant newPlant = new Plant(position ,plantEnergy,false);
-                earth.placePlant(newPlant);
+                earth.placePlant(position, plantEnergy, false);
             }
-            notGrownFields.remove(position);
-        }
+        });
+        rejected.forEach(freeFields::add);
+    }
+
+    @Override
+    public void fieldFreed(Vector2d position) {
+        freeFields.add(position);
     }
 
     @Override
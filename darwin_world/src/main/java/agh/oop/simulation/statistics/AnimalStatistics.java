@@ -8,7 +8,7 @@ public class AnimalStatistics {
 
     public AnimalStatistics(Animal animal, PlantEatenCountStatistics plantEatenCountStatistics,
                             DescendantsStatistics descendantsStatistics){
-        statisticsData = new StatisticsData(animal.getGenome().getGeneList(), animal.getGenome().getActiveGeneValue(),
+        statisticsData = new StatisticsData(animal.getGenome().getGeneList(), animal.getActiveGeneValue(),
                 animal.getEnergy(), plantEatenCountStatistics.getPlantEatenCount(animal), animal.getChildrenCount(),
                 descendantsStatistics.getNumberOfDescendants(animal), animal.getLifeLength(),
                 animal.getDayOfDeath().map(Object::toString).orElse("Alive"));
@@ -6,38 +6,83 @@ import agh.oop.model.objects.Plant;
 import java.util.*;
 
 public class DescendantsStatistics implements AnimalChangeListener {
-    private final HashMap<Animal, HashSet<Animal>> descendants;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int[] NO_CHILDREN = new int[0];
+
+    private int[][] children = new int[INITIAL_CAPACITY][];
+    private int[] childrenCounts = new int[INITIAL_CAPACITY];
 
     public DescendantsStatistics(HashSet<Animal> animals){
-        descendants = new HashMap<>();
         for (Animal animal : animals) {
-            descendants.put(animal, new HashSet<>());
+            ensureCapacity(animal.getId());
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= children.length) {
+            int capacity = Math.max(2 * children.length, id + 1);
+            children = Arrays.copyOf(children, capacity);
+            childrenCounts = Arrays.copyOf(childrenCounts, capacity);
+        }
+    }
+
+    private void addChild(int parentId, int childId) {
+        ensureCapacity(parentId);
+        int[] parentChildren = children[parentId];
+        int count = childrenCounts[parentId];
+        if (parentChildren == null) {
+            parentChildren = new int[2];
+            children[parentId] = parentChildren;
+        }
+        else if (count == parentChildren.length) {
+            parentChildren = Arrays.copyOf(parentChildren, 2 * count);
+            children[parentId] = parentChildren;
         }
+        parentChildren[count] = childId;
+        childrenCounts[parentId] = count + 1;
+    }
+
+    private int[] childrenOf(int id) {
+        return id < children.length && children[id] != null ? children[id] : NO_CHILDREN;
+    }
+
+    private int childrenCountOf(int id) {
+        return id < childrenCounts.length ? childrenCounts[id] : 0;
     }
 
     @Override
     public void animalStateChanged(Animal child, Optional<List<Animal>> parents, Optional<Plant> plant) {
         if(parents.isPresent()){
+            ensureCapacity(child.getId());
             for(Animal parent: parents.get()){
-                descendants.get(parent).add(child);
+                addChild(parent.getId(), child.getId());
             }
-            descendants.put(child, new HashSet<>());
         }
     }
 
     public int getNumberOfDescendants(Animal animal){
-        HashSet<Animal> animalDescendants = new HashSet<>(descendants.get(animal));
-        LinkedList<Animal> queue = new LinkedList<>(descendants.get(animal));
-        while(!queue.isEmpty()){
-            Animal current = queue.poll();
-            for(Animal child: descendants.get(current)){
-                if(!animalDescendants.contains(child)){
-                    animalDescendants.add(child);
-                    queue.add(child);
+        BitSet visited = new BitSet(children.length);
+        int[] queue = new int[INITIAL_CAPACITY];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = animal.getId();
+        int descendants = 0;
+        while(head < tail){
+            int current = queue[head++];
+            int[] currentChildren = childrenOf(current);
+            for(int i = 0; i < childrenCountOf(current); i++){
+                int child = currentChildren[i];
+                if(!visited.get(child)){
+                    visited.set(child);
+                    descendants++;
+                    if (tail == queue.length) {
+                        queue = Arrays.copyOf(queue, 2 * queue.length);
+                    }
+                    queue[tail++] = child;
                 }
             }
         }
-        return animalDescendants.size();
+        return descendants;
     }
 
 }
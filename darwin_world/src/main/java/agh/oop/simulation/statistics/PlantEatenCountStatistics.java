@@ -3,33 +3,38 @@ package agh.oop.simulation.statistics;
 import agh.oop.model.objects.Animal;
 import agh.oop.model.objects.Plant;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
 public class PlantEatenCountStatistics implements AnimalChangeListener {
-    private final HashMap<Animal,Integer> plantEatenCount;
+    private int[] plantEatenCount = new int[64];
 
     public PlantEatenCountStatistics(HashSet<Animal> animals){
-        plantEatenCount = new HashMap<>();
         for (Animal animal : animals) {
-            plantEatenCount.put(animal, 0);
+            ensureCapacity(animal.getId());
         }
     }
 
+    private void ensureCapacity(int id) {
+        if (id >= plantEatenCount.length) {
+            plantEatenCount = Arrays.copyOf(plantEatenCount, Math.max(2 * plantEatenCount.length, id + 1));
+        }
+    }
 
     @Override
     public void animalStateChanged(Animal animal, Optional<List<Animal>> parents, Optional<Plant> plant) {
+        ensureCapacity(animal.getId());
         if(plant.isPresent()){
-            plantEatenCount.put(animal, plantEatenCount.get(animal)+1);
+            plantEatenCount[animal.getId()]++;
         }
         if(parents.isPresent()){
-            plantEatenCount.put(animal,0);
+            plantEatenCount[animal.getId()] = 0;
         }
     }
 
     public int getPlantEatenCount(Animal animal){
-        return plantEatenCount.get(animal);
+        return animal.getId() < plantEatenCount.length ? plantEatenCount[animal.getId()] : 0;
     }
 }
@@ -1,8 +1,11 @@
 package agh.oop.simulation.statistics;
 
+import agh.oop.model.map.DayChanges;
 import agh.oop.model.map.Earth;
 import agh.oop.model.map.Vector2d;
-import agh.oop.model.objects.Animal;
+import agh.oop.model.map.WorldSnapshot;
+import agh.oop.model.objects.AnimalSnapshot;
+import agh.oop.model.objects.inheritance.Genome;
 import agh.oop.presenter.ChangeListener;
 
 import java.io.FileWriter;
@@ -20,6 +23,10 @@ public class Statistics implements ChangeListener{
     private Optional<List<Integer>> dominantGenotype=Optional.empty();
     private double averageLifeLength=0;
     private double averageNumberOfChildren=0;
+    // cells holding an animal or a plant, after the first day only the cells changed since the last snapshot are checked
+    private final BitSet occupiedCells = new BitSet();
+    private int occupiedFieldCount = 0;
+    private int countedDay = -1;
 
     public Statistics(String isSavingStats){
         this.isSavingStats = isSavingStats;
@@ -55,13 +62,14 @@ public class Statistics implements ChangeListener{
     }
 
     private void setAndWriteStatistics(Earth earth, String message){
-        numberOfAnimals = earth.getAliveAnimals().size();
-        numberOfPlants = earth.getPlants().size();
-        numberOfNotOccupiedFields = countNotOccupiedFields(earth);
-        averageEnergy = countAverageEnergy(earth);
-        dominantGenotype = findDominantGenotype(earth);
-        averageLifeLength = countAverageLifeLength(earth);
-        averageNumberOfChildren = findAverageNumberOfChildren(earth);
+        var snapshot = earth.getSnapshot();
+        numberOfAnimals = snapshot.aliveAnimals().size();
+        numberOfPlants = snapshot.plantCount();
+        numberOfNotOccupiedFields = earth.getArea() - countOccupiedFields(earth, snapshot);
+        averageEnergy = countAverageEnergy(snapshot);
+        dominantGenotype = findDominantGenotype(snapshot);
+        averageLifeLength = countAverageLifeLength(snapshot);
+        averageNumberOfChildren = findAverageNumberOfChildren(snapshot);
         if(Objects.equals(isSavingStats, "yes")) writeToFile(earth, message);
     }
 
@@ -80,68 +88,82 @@ public class Statistics implements ChangeListener{
         return dominantGenotype.toString();
     }
 
-    private int countNotOccupiedFields(Earth earth) {
-        int notOccupiedFieldsCount = earth.getArea();
-        HashSet<Vector2d> occupiedFields = new HashSet<>(earth.getAnimals().keySet());
-        occupiedFields.addAll(earth.getPlants().keySet());
-
-        return notOccupiedFieldsCount - occupiedFields.size();
+    private int countOccupiedFields(Earth earth, WorldSnapshot snapshot){
+        int width = earth.getBounds().upperRight().getX() + 1;
+        if (countedDay >= 0 && snapshot.day() == countedDay + 1) {
+            DayChanges changes = snapshot.changes();
+            for (int i = 0; i < changes.size(); i++) {
+                Vector2d position = changes.positionAt(i);
+                boolean occupied = snapshot.animals().containsKey(position) || snapshot.plants().containsKey(position);
+                if (occupied != occupiedCells.get(changes.cellAt(i))) {
+                    occupiedCells.set(changes.cellAt(i), occupied);
+                    occupiedFieldCount += occupied ? 1 : -1;
+                }
+            }
+        }
+        else {
+            occupiedCells.clear();
+            for (Vector2d position : snapshot.animals().keySet()) {
+                occupiedCells.set(position.getY() * width + position.getX());
+            }
+            for (Vector2d position : snapshot.plants().keySet()) {
+                occupiedCells.set(position.getY() * width + position.getX());
+            }
+            occupiedFieldCount = occupiedCells.cardinality();
+        }
+        countedDay = snapshot.day();
+        return occupiedFieldCount;
     }
 
-    private double countAverageEnergy(Earth earth){
-        HashSet<Animal> animals = earth.getAliveAnimals();
+    private double countAverageEnergy(WorldSnapshot snapshot){
+        List<AnimalSnapshot> animals = snapshot.aliveAnimals();
         if(animals.isEmpty()) return 0;
         double sum = 0;
-        for(Animal animal: animals){
-            sum += animal.getEnergy();
+        for(AnimalSnapshot animal: animals){
+            sum += animal.energy();
         }
         return sum/animals.size();
     }
     
-    private Optional<List<Integer>> findDominantGenotype(Earth earth){
-        HashSet<Animal> animals = earth.getAliveAnimals();
+    private Optional<List<Integer>> findDominantGenotype(WorldSnapshot snapshot){
+        List<AnimalSnapshot> animals = snapshot.aliveAnimals();
         if(animals.isEmpty()) return Optional.empty();
-        HashMap<List<Integer>,Integer> genotypeCount = new HashMap<>();
-        for(Animal animal: animals){
-            List<Integer> geneList = (animal.getGenome()).getGeneList();
-            if(genotypeCount.containsKey(geneList)){
-                genotypeCount.put(geneList, genotypeCount.get(geneList)+1);
+        HashMap<Genome,Integer> genotypeCount = new HashMap<>();
+        for(AnimalSnapshot animal: animals){
+            Genome genome = animal.genome();
+            if(genotypeCount.containsKey(genome)){
+                genotypeCount.put(genome, genotypeCount.get(genome)+1);
             }
             else{
-                genotypeCount.put(geneList, 1);
+                genotypeCount.put(genome, 1);
             }
         }
 
-        List<Integer> maxGenotype = genotypeCount.keySet().iterator().next();
+        Genome maxGenotype = genotypeCount.keySet().iterator().next();
         int max = genotypeCount.get(maxGenotype);
 
-        for(List<Integer> genotype: genotypeCount.keySet()){
+        for(Genome genotype: genotypeCount.keySet()){
             if(genotypeCount.get(genotype) > max){
                 max = genotypeCount.get(genotype);
                 maxGenotype = genotype;
             }
         }
-        return Optional.of(maxGenotype);
+        return Optional.of(maxGenotype.getGeneList());
     }
     
-    private double findAverageNumberOfChildren(Earth earth){
-        HashSet<Animal> animals = earth.getAliveAnimals();
+    private double findAverageNumberOfChildren(WorldSnapshot snapshot){
+        List<AnimalSnapshot> animals = snapshot.aliveAnimals();
         if(animals.isEmpty()) return 0;
         double sum = 0;
-        for(Animal animal: animals){
-            sum += animal.getChildrenCount();
+        for(AnimalSnapshot animal: animals){
+            sum += animal.childrenCount();
         }
         return sum/animals.size();
     }
 
-    private double countAverageLifeLength(Earth earth) {
-        HashSet<Animal> deadAnimals = earth.getDeadAnimals();
-        if (deadAnimals.isEmpty()) return 0;
-        double sum = 0;
-        for (Animal animal : deadAnimals) {
-            sum += animal.getLifeLength();
-        }
-        return sum / deadAnimals.size();
+    private double countAverageLifeLength(WorldSnapshot snapshot) {
+        if (snapshot.deadAnimalCount() == 0) return 0;
+        return (double) snapshot.deadAnimalsLifeLength() / snapshot.deadAnimalCount();
     }
 
     public synchronized void writeToFile(Earth earth, String message) {
@@ -1,5 +1,6 @@
 package agh.oop.view;
 
+import agh.oop.simulation.data.EngineOptions;
 import agh.oop.simulation.data.SimulationData;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -49,6 +50,16 @@ public class ConfigurationPage {
     private Spinner<Integer> simulationLength;
     @FXML
     private TextField configurationName;
+    @FXML
+    private CheckBox pipelinedSpawning;
+    @FXML
+    private CheckBox fusedFeeding;
+    @FXML
+    private CheckBox bulkAgeing;
+    @FXML
+    private Spinner<Integer> dayThreads;
+    @FXML
+    private ToggleGroup storageVariant;
     private String mapID;
     private String isSavingStats;
     private int width;
@@ -89,7 +100,20 @@ public class ConfigurationPage {
         }
     }
 
-    private String simulationParametersToString(SimulationData simulationParameters, String isSavingStats, int width, int height){
+    public EngineOptions getEngineOptions() {
+        var storageID = ((RadioButton) this.storageVariant.getSelectedToggle()).getId();
+        if (Objects.equals(mapID, "p3") && Objects.equals(storageID, "concurrent")) {
+            throw new IllegalArgumentException("Plant seeking map does not work with the concurrent storage");
+        }
+        if ((Objects.equals(mapID, "p2") || Objects.equals(mapID, "p3")) && dayThreads.getValue() > 0) {
+            throw new IllegalArgumentException("Day threads are not supported by this map variant");
+        }
+        return new EngineOptions(pipelinedSpawning.isSelected(), dayThreads.getValue(),
+                fusedFeeding.isSelected(), bulkAgeing.isSelected(), storageID);
+    }
+
+    private String simulationParametersToString(SimulationData simulationParameters, EngineOptions engineOptions,
+                                                String isSavingStats, int width, int height){
         return simulationParameters.simulationLength() + "\n" +
                 simulationParameters.reproduceEnergy() + "\n" +
                 simulationParameters.copulateEnergy() + "\n" +
@@ -103,13 +127,19 @@ public class ConfigurationPage {
                 simulationParameters.mapVariant() + "\n" +
                 isSavingStats + "\n" +
                 width + "\n" +
-                height;
+                height + "\n" +
+                simulationParameters.seed() + "\n" +
+                engineOptions.pipelinedSpawning() + "\n" +
+                engineOptions.dayThreads() + "\n" +
+                engineOptions.fusedFeeding() + "\n" +
+                engineOptions.bulkAgeing() + "\n" +
+                engineOptions.storageVariant();
     }
 
     public void useCurrentConfiguration() {
         try {
             SimulationData simulationParameters = getSimulationParameters();
-            homePage.passOnParametersToHome(simulationParameters, isSavingStats, width, height, mapID);
+            homePage.passOnParametersToHome(simulationParameters, getEngineOptions(), isSavingStats, width, height, mapID);
             Stage stage = (Stage) saveConfiguration.getScene().getWindow();
             stage.close();
         } catch (IllegalArgumentException e) {
@@ -124,7 +154,8 @@ public class ConfigurationPage {
     public void saveConfigurationToFile() {
         try {
             SimulationData simulationParameters = getSimulationParameters();
-            String parameters = simulationParametersToString(simulationParameters, isSavingStats, width, height);
+            String parameters = simulationParametersToString(simulationParameters, getEngineOptions(),
+                    isSavingStats, width, height);
             String configurationName = this.configurationName.getText();
             if(configurationName.isEmpty()) throw new IllegalArgumentException("Configuration name cannot be empty");
             writeToFile(parameters, configurationName);
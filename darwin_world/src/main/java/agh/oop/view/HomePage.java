@@ -1,6 +1,7 @@
 package agh.oop.view;
 
 import agh.oop.model.map.Earth;
+import agh.oop.simulation.data.EngineOptions;
 import agh.oop.simulation.data.SimulationData;
 import agh.oop.simulation.Simulation;
 import javafx.collections.FXCollections;
@@ -21,14 +22,17 @@ public class HomePage {
     private String isSavingStats;
     private Earth earth;
     private SimulationData simulationParameters;
+    private EngineOptions engineOptions;
     private boolean comboBoxSelected = false;
 
 
 
-    public void passOnParametersToHome(SimulationData parameters, String isSavingStats, int width, int height, String mapID) {
+    public void passOnParametersToHome(SimulationData parameters, EngineOptions engineOptions, String isSavingStats,
+                                       int width, int height, String mapID) {
         this.simulationParameters = parameters;
+        this.engineOptions = engineOptions;
         this.isSavingStats = isSavingStats;
-        this.earth = new Earth(width, height);
+        this.earth = new Earth(width, height, engineOptions.storageVariant());
         this.mapID = mapID;
         comboBoxSelected = false;
     }
@@ -103,12 +107,26 @@ public class HomePage {
             int width = Integer.parseInt(parameters.get(13));
             int height = Integer.parseInt(parameters.get(14));
 
-            SimulationData simulationParameters = new SimulationData(simulationLength, reproduceEnergy, copulateEnergy,
+            // configurations saved before seeds were added get a new seed on every launch
+            SimulationData simulationParameters = parameters.size() > 15 && !parameters.get(15).isBlank()
+                    ? new SimulationData(simulationLength, reproduceEnergy, copulateEnergy,
+                    newPlantNumber, plantEnergy, newAnimalNumber, genomeLength, initialEnergy,
+                    mutationRange, mutationID, mapID, Long.parseLong(parameters.get(15).trim()))
+                    : new SimulationData(simulationLength, reproduceEnergy, copulateEnergy,
                     newPlantNumber, plantEnergy, newAnimalNumber, genomeLength, initialEnergy,
                     mutationRange, mutationID, mapID);
 
-            this.earth = new Earth(width, height);
-            this.simulationToRun = new Simulation(earth, simulationParameters);
+            // and configurations saved before the engine options run with the default ones,
+            // the ones saved before the storage variant keep the hash storage
+            String storageVariant = parameters.size() > 20 ? parameters.get(20).trim() : "hash";
+            EngineOptions engineOptions = parameters.size() > 19
+                    ? new EngineOptions(Boolean.parseBoolean(parameters.get(16).trim()),
+                    Integer.parseInt(parameters.get(17).trim()), Boolean.parseBoolean(parameters.get(18).trim()),
+                    Boolean.parseBoolean(parameters.get(19).trim()), storageVariant)
+                    : EngineOptions.DEFAULT;
+
+            this.earth = new Earth(width, height, engineOptions.storageVariant());
+            this.simulationToRun = new Simulation(earth, simulationParameters, engineOptions);
             this.mapID = mapID;
             this.isSavingStats = isSavingStats;
         } catch (IOException e) {
@@ -119,8 +137,9 @@ public class HomePage {
     private void setSimulationParametersFromConfiguration() {
         try{
             var oldMapBounds = earth.getBounds();
-            var newEarth = new Earth(oldMapBounds.upperRight().getX()+1, oldMapBounds.upperRight().getY()+1);
-            this.simulationToRun = new Simulation(newEarth, simulationParameters);
+            var newEarth = new Earth(oldMapBounds.upperRight().getX()+1, oldMapBounds.upperRight().getY()+1,
+                    engineOptions.storageVariant());
+            this.simulationToRun = new Simulation(newEarth, simulationParameters, engineOptions);
         } catch(NullPointerException e){
             throw new IllegalArgumentException("No configuration selected");
         }
@@ -0,0 +1,55 @@
+package agh.oop.model.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeJournalTest {
+
+    @Test
+    void drainReturnsSortedUniqueCells() {
+        //Given
+        var journal = new ChangeJournal();
+
+        //When
+        for (int i = 0; i < 10000; i++) {
+            journal.mark(i % 7 * 3);
+        }
+
+        //Then
+        assertArrayEquals(new int[]{0, 3, 6, 9, 12, 15, 18}, journal.drain());
+        assertEquals(0, journal.drain().length);
+    }
+
+    @Test
+    void concurrentMarksAreAllDrained() throws Exception {
+        //Given
+        var journal = new ConcurrentChangeJournal();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        //When
+        var futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    journal.mark((thread * 20000 + i) % 50000);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //Then
+        assertArrayEquals(IntStream.range(0, 50000).toArray(), journal.drain());
+        assertEquals(0, journal.drain().length);
+    }
+}
@@ -1,26 +1,31 @@
 package agh.oop.model.map;
 
 import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.IdAllocator;
 import agh.oop.model.objects.Plant;
 import agh.oop.model.objects.inheritance.Genome;
 import javafx.geometry.Bounds;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Vector;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class EarthTest {
 
+    private final IdAllocator animalIds = new IdAllocator();
+
     @Test
     void placeAnimalInBounds() {
         Earth earth = new Earth(10, 10);
         List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 8);
         Genome genome = new Genome(geneList, geneList.size());
-        Animal animal = new Animal(new Vector2d(5, 5),10,genome,10);
+        Animal animal = new Animal(animalIds.next(), new Vector2d(5, 5),10,genome,10);
         earth.placeAnimal(animal);
         assertEquals(animal, earth.getAnimals().get(new Vector2d(5, 5)).iterator().next());
     }
@@ -30,7 +35,7 @@ class EarthTest {
         Earth earth = new Earth(10, 10);
         List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 8);
         Genome genome = new Genome(geneList, geneList.size());
-        Animal animal = new Animal(new Vector2d(10, 10),10,genome,10);
+        Animal animal = new Animal(animalIds.next(), new Vector2d(10, 10),10,genome,10);
         assertThrows(IllegalArgumentException.class, () -> earth.placeAnimal(animal));
     }
 
@@ -54,7 +59,7 @@ class EarthTest {
         Earth earth = new Earth(10, 10);
         List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 8);
         Genome genome = new Genome(geneList, geneList.size());
-        Animal animal = new Animal(new Vector2d(5, 5),10,genome,10);
+        Animal animal = new Animal(animalIds.next(), new Vector2d(5, 5),10,genome,10);
         earth.placeAnimal(animal);
         earth.removeAnimal(animal, Optional.empty());
         assertTrue(earth.getAnimals().isEmpty());
@@ -69,12 +74,22 @@ class EarthTest {
         assertTrue(earth.getPlants().isEmpty());
     }
 
+    @Test
+    void plantQueriesOutOfBounds() {
+        Earth earth = new Earth(10, 10, "grid");
+        earth.placePlant(new Vector2d(9, 9), 3, true);
+        assertTrue(earth.isPoisonousPlant(new Vector2d(9, 9)));
+        assertFalse(earth.hasPlant(new Vector2d(10, 9)));
+        assertFalse(earth.isPoisonousPlant(new Vector2d(-1, 0)));
+        assertEquals(0, earth.getPlantEnergy(new Vector2d(0, 10)));
+    }
+
     @Test
     void moveAnimal() {
         Earth earth = new Earth(10, 10);
         List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 8);
         Genome genome = new Genome(geneList, geneList.size());
-        Animal animal = new Animal(new Vector2d(5, 5),10,genome,10);
+        Animal animal = new Animal(animalIds.next(), new Vector2d(5, 5),10,genome,10);
         earth.placeAnimal(animal);
 
         earth.move(animal);
@@ -104,4 +119,114 @@ class EarthTest {
         assertTrue(earth.isInBounds(new Vector2d(5, 5)));
         assertFalse(earth.isInBounds(new Vector2d(11, 11)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void snapshotIsNotAffectedByLaterChanges() {
+        Earth earth = new Earth(10, 10);
+        List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+        Genome genome = new Genome(geneList, geneList.size());
+        Animal animal = new Animal(animalIds.next(), new Vector2d(5, 5),10,genome,10);
+        Plant plant = new Plant(new Vector2d(1, 1),3,false);
+        earth.placeAnimal(animal);
+        earth.placePlant(plant);
+
+        earth.publishSnapshot(1);
+        WorldSnapshot snapshot = earth.getSnapshot();
+        earth.move(animal);
+        earth.removePlant(plant);
+
+        assertSame(snapshot, earth.getSnapshot());
+        assertEquals(1, snapshot.day());
+        assertEquals(1, snapshot.aliveAnimals().size());
+        assertEquals(new Vector2d(5, 5), snapshot.aliveAnimals().get(0).position());
+        assertEquals(10, snapshot.aliveAnimals().get(0).energy());
+        assertEquals(plant, snapshot.plants().get(new Vector2d(1, 1)));
+        assertEquals(List.of(new Vector2d(5, 5)), new ArrayList<>(snapshot.animals().keySet()));
+        assertEquals(1, snapshot.plantCount());
+    }
+
+    @Test
+    void snapshotContainsFieldsChangedSinceLastSnapshot() {
+        Earth earth = new Earth(10, 10);
+        List<Integer> geneList = List.of(2);
+        Animal animal = new Animal(animalIds.next(), new Vector2d(5, 5),10,new Genome(geneList, geneList.size()),10);
+        animal.setDirection(MapDirection.N);
+        earth.placeAnimal(animal);
+        earth.placePlant(new Vector2d(1, 1), 3, false);
+        earth.publishSnapshot(0);
+
+        earth.move(animal);
+        earth.removePlant(new Vector2d(1, 1));
+        earth.removePlant(new Vector2d(1, 1));
+        earth.publishSnapshot(1);
+        DayChanges changes = earth.getSnapshot().changes();
+
+        assertEquals(List.of(new Vector2d(1, 1), new Vector2d(5, 5), new Vector2d(6, 5)), changes.positions());
+        assertTrue(changes.contains(new Vector2d(6, 5)));
+        assertFalse(changes.contains(new Vector2d(5, 6)));
+        earth.publishSnapshot(2);
+        assertTrue(earth.getSnapshot().changes().isEmpty());
+    }
+
+    @Test
+    void removeAnimalWithDayOfDeathMovesItToArchive() {
+        Earth earth = new Earth(10, 10);
+        List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+        Animal first = new Animal(animalIds.next(), new Vector2d(5, 5),10,new Genome(geneList, geneList.size()),10);
+        Animal second = new Animal(animalIds.next(), new Vector2d(2, 2),10,new Genome(geneList, geneList.size()),10);
+        earth.placeAnimal(first);
+        earth.placeAnimal(second);
+        earth.move(first);
+        earth.move(first);
+
+        earth.removeAnimal(first, Optional.of(3));
+
+        assertEquals(1, earth.getAliveAnimalCount());
+        assertTrue(earth.getAliveAnimals().contains(second));
+        assertEquals(1, earth.getDeadAnimals().size());
+        assertEquals(2, earth.getDeadAnimals().getLifeLength(0));
+        assertEquals(3, earth.getDeadAnimals().getDayOfDeath(0));
+        assertEquals(2.0, earth.getDeadAnimals().getAverageLifeLength());
+    }
+
+    private void assertOccupiedFieldsFollowChanges(String storageVariant) {
+        //Given
+        Earth earth = new Earth(40, 40, storageVariant);
+        List<Integer> geneList = List.of(0, 1, 7, 2, 0, 6, 3, 5);
+        var random = new Random(7);
+        List<Animal> placed = new ArrayList<>();
+
+        //When
+        for (int step = 0; step < 3000; step++) {
+            int action = random.nextInt(4);
+            if (action < 2 || placed.isEmpty()) {
+                Animal animal = new Animal(animalIds.next(), new Vector2d(random.nextInt(40), random.nextInt(40)), 10,
+                        new Genome(geneList, geneList.size()), 10);
+                earth.placeAnimal(animal);
+                placed.add(animal);
+            }
+            else if (action == 2) {
+                earth.move(placed.get(random.nextInt(placed.size())));
+            }
+            else {
+                earth.removeAnimal(placed.remove(random.nextInt(placed.size())), Optional.empty());
+            }
+        }
+        earth.moveAllAnimals();
+
+        //Then
+        List<Vector2d> occupied = earth.getOccupiedFields();
+        assertEquals(earth.getAnimals().keySet(), new HashSet<>(occupied));
+        assertEquals(occupied.size(), new HashSet<>(occupied).size());
+        assertEquals(earth.getAliveAnimals(), new HashSet<>(earth.getAliveAnimalList()));
+        assertEquals(placed.size(), earth.getAliveAnimalList().size());
+        assertTrue(occupied.size() > 256);
+    }
+
+    @Test
+    void occupiedFieldsAndAliveAnimalListFollowChanges() {
+        assertOccupiedFieldsFollowChanges("hash");
+        assertOccupiedFieldsFollowChanges("grid");
+        assertOccupiedFieldsFollowChanges("concurrent");
+    }
+}
@@ -0,0 +1,62 @@
+package agh.oop.model.map;
+
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.IdAllocator;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovementKernelTest {
+
+    private final IdAllocator animalIds = new IdAllocator();
+
+    @Test
+    void wrapsHorizontallyAndDetectsPoles() {
+        //Given
+        var kernel = new MovementKernel(5, 3);
+
+        //When
+        //Then
+        assertEquals(4, kernel.wrapX(-1));
+        assertEquals(0, kernel.wrapX(5));
+        assertEquals(2, kernel.wrapX(2));
+        assertTrue(kernel.isPole(-1));
+        assertTrue(kernel.isPole(3));
+        assertFalse(kernel.isPole(2));
+    }
+
+    @Test
+    void kernelMovesLikeMapOptions() {
+        //Given
+        var random = new Random(7);
+        var earth = new Earth(5, 3);
+        var kernel = new MovementKernel(5, 3);
+        List<Integer> genes = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            genes.add(random.nextInt(8));
+        }
+        var start = new Vector2d(2, 1);
+        var withOptions = new Animal(animalIds.next(), start, 1000, new Genome(genes, genes.size()), 10);
+        var withKernel = new Animal(animalIds.next(), start, 1000, new Genome(genes, genes.size()), 10);
+        withOptions.setDirection(MapDirection.N);
+        withKernel.setDirection(MapDirection.N);
+        withKernel.setActiveGene(withOptions.getActiveGene());
+
+        for (int step = 0; step < 500; step++) {
+            //When
+            withOptions.move(earth);
+            withKernel.move(kernel);
+
+            //Then
+            assertEquals(withOptions.getPosition(), withKernel.getPosition());
+            assertEquals(withOptions.getDirection(), withKernel.getDirection());
+            assertEquals(withOptions.getEnergy(), withKernel.getEnergy());
+            assertEquals(withOptions.getLifeLength(), withKernel.getLifeLength());
+        }
+    }
+}
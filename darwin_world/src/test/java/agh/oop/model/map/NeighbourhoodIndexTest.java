@@ -0,0 +1,190 @@
+package agh.oop.model.map;
+
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeighbourhoodIndexTest {
+
+    private Animal createAnimal(int id, Vector2d position) {
+        return new Animal(id, position, 100, new Genome(List.of(0, 1, 2), 3), 10);
+    }
+
+    @Test
+    void countsMatchScanningTheSquare() {
+        //Given
+        var random = new Random(1);
+        var earth = new Earth(40, 30, "grid");
+        for (int i = 0; i < 300; i++) {
+            earth.placePlant(new Vector2d(random.nextInt(40), random.nextInt(30)), 5, false);
+        }
+        var neighbourhood = earth.getNeighbourhood();
+        for (int i = 0; i < 200; i++) {
+            earth.placeAnimal(createAnimal(i, new Vector2d(random.nextInt(40), random.nextInt(30))));
+        }
+        earth.moveAllAnimals();
+
+        for (int query = 0; query < 50; query++) {
+            //When
+            var center = new Vector2d(random.nextInt(40), random.nextInt(30));
+            int radius = random.nextInt(12);
+            int plants = neighbourhood.countPlants(center, radius);
+            int animals = neighbourhood.countAnimals(center, radius);
+
+            //Then
+            int expectedPlants = 0;
+            int expectedAnimals = 0;
+            for (int x = 0; x < 40; x++) {
+                for (int y = 0; y < 30; y++) {
+                    int dx = Math.abs(neighbourhood.wrappedDx(center.getX(), x));
+                    if (dx <= radius && Math.abs(y - center.getY()) <= radius) {
+                        var position = new Vector2d(x, y);
+                        if (earth.hasPlant(position)) expectedPlants++;
+                        var animalsAt = earth.getAnimals().get(position);
+                        if (animalsAt != null) expectedAnimals += animalsAt.size();
+                    }
+                }
+            }
+            assertEquals(expectedPlants, plants);
+            assertEquals(expectedAnimals, animals);
+        }
+    }
+
+    @Test
+    void nearestPlantIsFoundAcrossTheEdge() {
+        //Given
+        var earth = new Earth(50, 10, "grid");
+        earth.placePlant(new Vector2d(48, 5), 5, false);
+        earth.placePlant(new Vector2d(5, 5), 5, false);
+        var neighbourhood = earth.getNeighbourhood();
+
+        //When
+        var nearest = neighbourhood.nearestPlant(new Vector2d(1, 5), 4);
+        earth.removePlant(new Vector2d(48, 5));
+        var nearestAfterRemoval = neighbourhood.nearestPlant(new Vector2d(1, 5), 3);
+
+        //Then
+        assertEquals(Optional.of(new Vector2d(48, 5)), nearest);
+        assertEquals(Optional.empty(), nearestAfterRemoval);
+    }
+
+    @Test
+    void nearestAnimalsAreSortedByDistance() {
+        //Given
+        var earth = new Earth(20, 20, "hash");
+        var far = createAnimal(1, new Vector2d(10, 14));
+        var near = createAnimal(2, new Vector2d(11, 10));
+        var middle = createAnimal(3, new Vector2d(8, 12));
+        earth.placeAnimal(far);
+        earth.placeAnimal(near);
+        earth.placeAnimal(middle);
+
+        //When
+        var nearest = earth.getNeighbourhood().nearestAnimals(new Vector2d(10, 10), 5, 2);
+
+        //Then
+        assertEquals(List.of(near, middle), nearest);
+    }
+
+    @Test
+    void nearestQueriesMatchScanningTheCircle() {
+        //Given
+        var random = new Random(7);
+        // 43 columns leave a narrow last bucket column, rings wrapping around the map cross it
+        var earth = new Earth(43, 29, "chunked");
+        for (int i = 0; i < 60; i++) {
+            earth.placePlant(new Vector2d(random.nextInt(43), random.nextInt(29)), 5, false);
+        }
+        var neighbourhood = earth.getNeighbourhood();
+        var animals = new ArrayList<Animal>();
+        for (int i = 0; i < 80; i++) {
+            var animal = createAnimal(i, new Vector2d(random.nextInt(43), random.nextInt(29)));
+            earth.placeAnimal(animal);
+            animals.add(animal);
+        }
+
+        for (int query = 0; query < 300; query++) {
+            //When
+            var center = new Vector2d(random.nextInt(43), random.nextInt(29));
+            int radius = random.nextInt(30);
+            int count = 1 + random.nextInt(6);
+            var plant = neighbourhood.nearestPlant(center, radius);
+            var nearestAnimals = neighbourhood.nearestAnimals(center, radius, count);
+
+            //Then
+            Vector2d expectedPlant = null;
+            for (int y = 0; y < 29; y++) {
+                for (int x = 0; x < 43; x++) {
+                    var position = new Vector2d(x, y);
+                    int distance = squaredDistance(neighbourhood, center, position);
+                    if (earth.hasPlant(position) && distance <= radius * radius
+                            && (expectedPlant == null || distance < squaredDistance(neighbourhood, center, expectedPlant))) {
+                        expectedPlant = position;
+                    }
+                }
+            }
+            assertEquals(Optional.ofNullable(expectedPlant), plant);
+            var expectedAnimals = animals.stream()
+                    .filter(animal -> squaredDistance(neighbourhood, center, animal.getPosition()) <= radius * radius)
+                    .sorted(Comparator.comparingInt((Animal animal) ->
+                            squaredDistance(neighbourhood, center, animal.getPosition())).thenComparingInt(Animal::getId))
+                    .limit(count)
+                    .toList();
+            assertEquals(expectedAnimals, nearestAnimals);
+        }
+    }
+
+    @Test
+    void nearestPlantIsFoundBehindNarrowLastBucket() {
+        //Given
+        // the last bucket column holds only the columns 40 to 42, so the column 39 is 4 fields left of the column 0
+        var earth = new Earth(43, 10, "grid");
+        earth.placePlant(new Vector2d(7, 5), 5, false);
+        earth.placePlant(new Vector2d(39, 5), 5, false);
+        earth.placeAnimal(createAnimal(1, new Vector2d(7, 5)));
+        earth.placeAnimal(createAnimal(2, new Vector2d(39, 5)));
+        var neighbourhood = earth.getNeighbourhood();
+
+        //When
+        var plant = neighbourhood.nearestPlant(new Vector2d(0, 5), 10);
+        var animals = neighbourhood.nearestAnimals(new Vector2d(0, 5), 10, 1);
+
+        //Then
+        assertEquals(Optional.of(new Vector2d(39, 5)), plant);
+        assertEquals(2, animals.get(0).getId());
+    }
+
+    @Test
+    void nearestQueriesSkipTheCornersOfTheSquare() {
+        //Given
+        var earth = new Earth(30, 30, "grid");
+        earth.placePlant(new Vector2d(14, 14), 5, false);
+        var animal = createAnimal(1, new Vector2d(16, 16));
+        earth.placeAnimal(animal);
+        var neighbourhood = earth.getNeighbourhood();
+
+        //When
+        var plant = neighbourhood.nearestPlant(new Vector2d(10, 10), 5);
+        var animals = neighbourhood.nearestAnimals(new Vector2d(20, 20), 5, 3);
+
+        //Then
+        assertEquals(Optional.empty(), plant);
+        assertEquals(List.of(), animals);
+        assertEquals(Optional.of(new Vector2d(14, 14)), neighbourhood.nearestPlant(new Vector2d(10, 10), 6));
+        assertEquals(List.of(animal), neighbourhood.nearestAnimals(new Vector2d(20, 20), 6, 3));
+    }
+
+    private int squaredDistance(NeighbourhoodIndex neighbourhood, Vector2d center, Vector2d position) {
+        int dx = neighbourhood.wrappedDx(center.getX(), position.getX());
+        int dy = position.getY() - center.getY();
+        return dx * dx + dy * dy;
+    }
+}
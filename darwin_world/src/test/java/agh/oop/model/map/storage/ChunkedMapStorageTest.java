@@ -0,0 +1,102 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.IdAllocator;
+import agh.oop.model.objects.Plant;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedMapStorageTest {
+
+    private final IdAllocator animalIds = new IdAllocator();
+
+    private Animal createAnimal(Vector2d position) {
+        return new Animal(animalIds.next(), position, 10, new Genome(List.of(0), 1), 10);
+    }
+
+    @Test
+    void chunksAreAllocatedOnlyForOccupiedFields() {
+        //Given
+        var storage = new ChunkedMapStorage(10000, 10000, 16);
+
+        //When
+        storage.placeAnimal(createAnimal(new Vector2d(5, 5)), new Vector2d(5, 5));
+        storage.placeAnimal(createAnimal(new Vector2d(9999, 9999)), new Vector2d(9999, 9999));
+        storage.placePlant(new Plant(new Vector2d(6, 6), 3, false));
+
+        //Then
+        assertEquals(2, storage.getChunkCount());
+        assertEquals(2, storage.getAnimals().size());
+        assertEquals(1, storage.getPlants().size());
+        assertTrue(storage.getAnimals().containsKey(new Vector2d(9999, 9999)));
+        assertFalse(storage.getAnimals().containsKey(new Vector2d(6, 6)));
+    }
+
+    @Test
+    void emptyChunksAreReleased() {
+        //Given
+        var storage = new ChunkedMapStorage(1000, 1000, 16);
+        var animal = createAnimal(new Vector2d(15, 15));
+        var plant = new Plant(new Vector2d(17, 15), 3, false);
+        storage.placeAnimal(animal, new Vector2d(15, 15));
+        storage.placePlant(plant);
+
+        //When
+        storage.removeAnimal(animal, new Vector2d(15, 15));
+        storage.placeAnimal(animal, new Vector2d(16, 15));
+        storage.removePlant(new Vector2d(17, 15));
+
+        //Then
+        assertEquals(1, storage.getChunkCount());
+        assertEquals(Set.of(new Vector2d(16, 15)), storage.getAnimals().keySet());
+        assertTrue(storage.getPlants().isEmpty());
+    }
+
+    @Test
+    void moveAcrossChunkBoundaryAndWrapAround() {
+        //Given
+        var earth = new Earth(100, 100, "chunked");
+        var animal = createAnimal(new Vector2d(99, 50));
+        animal.setDirection(MapDirection.E);
+        earth.placeAnimal(animal);
+
+        //When
+        earth.move(animal);
+
+        //Then
+        assertEquals(new Vector2d(0, 50), animal.getPosition());
+        assertFalse(earth.getAnimals().containsKey(new Vector2d(99, 50)));
+        assertTrue(earth.getAnimals().get(new Vector2d(0, 50)).contains(animal));
+        assertEquals(1, earth.getAnimals().size());
+    }
+
+    @Test
+    void iterationVisitsEveryField() {
+        //Given
+        var storage = new ChunkedMapStorage(50, 50, 16);
+        var hash = new HashMapStorage();
+
+        //When
+        for (int i = 0; i < 200; i++) {
+            var position = new Vector2d((i * 13) % 50, (i * 7) % 50);
+            var animal = createAnimal(position);
+            storage.placeAnimal(animal, position);
+            hash.placeAnimal(animal, position);
+            storage.placePlant(new Plant(position, 1, false));
+        }
+
+        //Then
+        assertEquals(hash.getAnimals().keySet(), storage.getAnimals().keySet());
+        assertEquals(hash.getAnimals(), new HashMap<>(storage.getAnimals()));
+        assertEquals(hash.getAnimals().keySet(), storage.getPlants().keySet());
+    }
+}
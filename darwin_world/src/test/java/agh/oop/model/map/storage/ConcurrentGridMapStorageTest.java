@@ -0,0 +1,126 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.IdAllocator;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGridMapStorageTest {
+
+    private static final int THREADS = 8;
+
+    // animals with the same seed modulo 8 share their genome, so even a million of them stays small
+    private static final Genome[] GENOMES = new Genome[8];
+
+    static {
+        for (int seed = 0; seed < 8; seed++) {
+            List<Integer> genes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                genes.add((seed + 3 * i) % 8);
+            }
+            GENOMES[seed] = new Genome(genes, genes.size());
+        }
+    }
+
+    private final IdAllocator animalIds = new IdAllocator();
+
+    private Animal createAnimal(Vector2d position, int seed) {
+        return new Animal(animalIds.next(), position, Integer.MAX_VALUE, GENOMES[seed % 8], 10);
+    }
+
+    // the animals are split between the threads, every thread moves its own animals for the given number of rounds
+    private void moveConcurrently(int size, int animalNumber, int rounds) throws Exception {
+        //Given
+        var earth = new Earth(size, size, "concurrent");
+        var animals = new ArrayList<Animal>();
+        for (int i = 0; i < animalNumber; i++) {
+            var animal = createAnimal(new Vector2d(i % size, (i / size) % size), i);
+            earth.placeAnimal(animal);
+            animals.add(animal);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //When
+        var futures = new ArrayList<Future<?>>();
+        int part = animals.size() / THREADS;
+        for (int t = 0; t < THREADS; t++) {
+            var own = animals.subList(t * part, (t + 1) * part);
+            futures.add(executor.submit(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    for (Animal animal : own) {
+                        earth.move(animal);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //Then
+        Set<Animal> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        int occupiedFields = 0;
+        for (var entry : earth.getAnimals().entrySet()) {
+            occupiedFields++;
+            for (Animal animal : entry.getValue()) {
+                assertTrue(seen.add(animal));
+                assertEquals(entry.getKey(), animal.getPosition());
+            }
+        }
+        assertEquals(animals.size(), seen.size());
+        assertEquals(occupiedFields, earth.getAnimals().size());
+        assertEquals(animals.size(), earth.getAliveAnimalCount());
+    }
+
+    @Test
+    void concurrentMovesDoNotLoseOrDuplicateAnimals() throws Exception {
+        moveConcurrently(64, 8000, 300);
+    }
+
+    // run by the slowTest task
+    @Test
+    @Tag("slow")
+    void concurrentMovesOfMillionAnimalsDoNotLoseOrDuplicateAnimals() throws Exception {
+        moveConcurrently(1024, 1_000_000, 5);
+    }
+
+    @Test
+    void concurrentPlaceAndRemoveKeepCountsConsistent() throws Exception {
+        //Given
+        var storage = new ConcurrentGridMapStorage(16, 16, 4);
+        var position = new Vector2d(3, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //When
+        var futures = new ArrayList<Future<?>>();
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    var animal = createAnimal(position, seed);
+                    storage.placeAnimal(animal, position);
+                    storage.removeAnimal(animal, position);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        //Then
+        assertTrue(storage.getAnimals().isEmpty());
+        assertEquals(0, storage.getAnimals().size());
+    }
+}
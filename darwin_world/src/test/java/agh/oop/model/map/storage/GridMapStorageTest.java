@@ -0,0 +1,149 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.IdAllocator;
+import agh.oop.model.objects.Plant;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridMapStorageTest {
+
+    private final IdAllocator animalIds = new IdAllocator();
+
+    private Animal createAnimal(Vector2d position) {
+        List<Integer> geneList = List.of(1, 2, 3, 4, 5, 6, 7, 0);
+        return new Animal(animalIds.next(), position, 10, new Genome(geneList, geneList.size()), 10);
+    }
+
+    @Test
+    void placeManyAnimalsOnOneField() {
+        //Given
+        var storage = new GridMapStorage(10, 10);
+        var position = new Vector2d(3, 7);
+
+        //When
+        for (int i = 0; i < 20; i++) {
+            storage.placeAnimal(createAnimal(position), position);
+        }
+
+        //Then
+        assertEquals(1, storage.getAnimals().size());
+        assertEquals(20, storage.getAnimals().get(position).size());
+    }
+
+    @Test
+    void removeAnimal() {
+        //Given
+        var storage = new GridMapStorage(10, 10);
+        var position = new Vector2d(9, 9);
+        var first = createAnimal(position);
+        var second = createAnimal(position);
+        storage.placeAnimal(first, position);
+        storage.placeAnimal(second, position);
+
+        //When
+        storage.removeAnimal(first, position);
+
+        //Then
+        assertFalse(storage.getAnimals().get(position).contains(first));
+        assertTrue(storage.getAnimals().get(position).contains(second));
+        storage.removeAnimal(second, position);
+        assertTrue(storage.getAnimals().isEmpty());
+    }
+
+    @Test
+    void placeAndRemovePlant() {
+        //Given
+        var storage = new GridMapStorage(10, 5);
+        var plant = new Plant(new Vector2d(9, 4), 3, false);
+
+        //When
+        storage.placePlant(plant);
+
+        //Then
+        assertEquals(plant, storage.getPlants().get(new Vector2d(9, 4)));
+        storage.removePlant(new Vector2d(9, 4));
+        assertTrue(storage.getPlants().isEmpty());
+    }
+
+    @Test
+    void plantLayerKeepsEnergyAndPoison() {
+        //Given
+        var storage = new GridMapStorage(10, 10);
+        var normal = new Vector2d(1, 1);
+        var poisonous = new Vector2d(2, 2);
+
+        //When
+        storage.placePlant(normal, 7, false);
+        storage.placePlant(poisonous, 5, true);
+
+        //Then
+        assertTrue(storage.hasPlant(normal));
+        assertFalse(storage.isPoisonousPlant(normal));
+        assertEquals(7, storage.getPlantEnergy(normal));
+        assertTrue(storage.isPoisonousPlant(poisonous));
+        assertEquals(-5, storage.getPlantEnergy(poisonous));
+        assertFalse(storage.hasPlant(new Vector2d(3, 3)));
+        assertEquals(2, storage.getPlantCount());
+        assertEquals(new Plant(poisonous, 5, true), storage.getPlants().get(poisonous));
+        assertThrows(IllegalArgumentException.class, () -> storage.placePlant(new Vector2d(4, 4), 0, false));
+    }
+
+    @Test
+    void sameContentAsHashMapStorage() {
+        //Given
+        var grid = new GridMapStorage(4, 4);
+        var hash = new HashMapStorage();
+
+        //When
+        for (int i = 0; i < 30; i++) {
+            var position = new Vector2d(i % 4, (i * 7) % 4);
+            var animal = createAnimal(position);
+            grid.placeAnimal(animal, position);
+            hash.placeAnimal(animal, position);
+        }
+
+        //Then
+        assertEquals(hash.getAnimals().keySet(), grid.getAnimals().keySet());
+        for (var position : hash.getAnimals().keySet()) {
+            assertEquals(hash.getAnimals().get(position), grid.getAnimals().get(position));
+        }
+    }
+
+    @Test
+    void moveByCoordinatesMatchesMoveByPositions() {
+        for (MapStorage storage : List.of(new GridMapStorage(12, 12), new ChunkedMapStorage(12, 12, 4),
+                new ConcurrentGridMapStorage(12, 12))) {
+            //Given
+            var reference = new HashMapStorage();
+            var animals = new Animal[40];
+            for (int i = 0; i < animals.length; i++) {
+                var position = new Vector2d(i % 12, (i * 5) % 12);
+                animals[i] = createAnimal(position);
+                storage.placeAnimal(animals[i], position);
+                reference.placeAnimal(animals[i], position);
+            }
+
+            //When
+            for (int i = 0; i < animals.length; i++) {
+                int fromX = i % 12;
+                int fromY = (i * 5) % 12;
+                int toX = (fromX + 3 + i) % 12;
+                int toY = (fromY + 11) % 12;
+                storage.moveAnimal(animals[i], fromX, fromY, toX, toY);
+                reference.moveAnimal(animals[i], new Vector2d(fromX, fromY), new Vector2d(toX, toY));
+            }
+
+            //Then
+            assertEquals(reference.getAnimals().keySet(), storage.getAnimals().keySet());
+            for (var position : reference.getAnimals().keySet()) {
+                assertEquals(reference.getAnimals().get(position), storage.getAnimals().get(position));
+            }
+        }
+    }
+}
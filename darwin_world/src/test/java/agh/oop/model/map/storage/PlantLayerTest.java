@@ -0,0 +1,40 @@
+package agh.oop.model.map.storage;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Plant;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlantLayerTest {
+
+    @Test
+    void copyHoldsSamePlantsAsStorageAndIgnoresLaterChanges() {
+        for (MapStorage storage : List.of(new HashMapStorage(), new GridMapStorage(30, 20),
+                new ChunkedMapStorage(30, 20, 8), new ConcurrentGridMapStorage(30, 20))) {
+            //Given
+            var random = new Random(4);
+            for (int i = 0; i < 150; i++) {
+                storage.placePlant(new Vector2d(random.nextInt(30), random.nextInt(20)), 1 + random.nextInt(9),
+                        random.nextBoolean());
+            }
+            var expected = new HashMap<Vector2d, Plant>(storage.getPlants());
+
+            //When
+            var layer = storage.copyPlants(30);
+            storage.removePlant(expected.keySet().iterator().next());
+            storage.placePlant(new Vector2d(29, 19), 3, false);
+
+            //Then
+            assertEquals(expected.size(), layer.size());
+            assertEquals(expected, new HashMap<>(layer.asMap()));
+            expected.forEach((position, plant) -> assertEquals(plant, layer.asMap().get(position)));
+            assertEquals(expected.containsKey(new Vector2d(29, 19)), layer.asMap().containsKey(new Vector2d(29, 19)));
+            assertNull(layer.asMap().get(new Vector2d(30, 0)));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package agh.oop.model.objects;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// run by the scalarFallbackTest task, in a JVM started without --add-modules jdk.incubator.vector
+@Tag("no-vector-module")
+class AnimalAgeingFallbackTest {
+
+    @Test
+    void preferredAgeingIsScalarWithoutVectorModule() {
+        //Given
+        assertTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty());
+
+        //When
+        var ageing = AnimalAgeing.preferred();
+
+        //Then
+        assertInstanceOf(ScalarAgeing.class, ageing);
+        assertThrows(IllegalStateException.class, () -> AnimalAgeing.create("vector"));
+    }
+}
@@ -0,0 +1,98 @@
+package agh.oop.model.objects;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalAgeingTest {
+
+    @Test
+    void vectorAgeingGivesSameColumnsAndDeadSlotsAsScalar() {
+        //Given
+        var random = new Random(3);
+        int length = 1003;
+        int[] energies = random.ints(length + 5, -3, 20).toArray();
+        int[] lifeLengths = random.ints(length + 5, 0, 100).toArray();
+        int[] vectorEnergies = energies.clone();
+        int[] vectorLifeLengths = lifeLengths.clone();
+        int[] deadSlots = new int[length];
+        int[] vectorDeadSlots = new int[length];
+
+        //When
+        AnimalAgeing.create("scalar").age(energies, lifeLengths, length);
+        AnimalAgeing.create("vector").age(vectorEnergies, vectorLifeLengths, length);
+        int deadCount = AnimalAgeing.create("scalar").findDead(energies, length, deadSlots);
+        int vectorDeadCount = AnimalAgeing.create("vector").findDead(vectorEnergies, length, vectorDeadSlots);
+
+        //Then
+        assertArrayEquals(energies, vectorEnergies);
+        assertArrayEquals(lifeLengths, vectorLifeLengths);
+        assertEquals(deadCount, vectorDeadCount);
+        assertArrayEquals(Arrays.copyOf(deadSlots, deadCount), Arrays.copyOf(vectorDeadSlots, vectorDeadCount));
+        assertEquals(Arrays.stream(energies, 0, length).filter(energy -> energy <= 0).count(), deadCount);
+        for (int i = 1; i < deadCount; i++) {
+            assertTrue(deadSlots[i - 1] < deadSlots[i]);
+        }
+    }
+
+    @Test
+    void unknownVariantIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> AnimalAgeing.create("simd"));
+    }
+
+    private List<Animal> populate(Earth earth) {
+        List<Animal> animals = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            List<Integer> genes = List.of(i % 8, (i / 8) % 8, 3);
+            var animal = new Animal(i, new Vector2d(i % 20, i / 20), 1 + i % 9, new Genome(genes, genes.size()), 1);
+            animal.setDirection(MapDirection.convertNumber(i % 8));
+            animal.setActiveGene(0);
+            earth.placeAnimal(animal);
+            animals.add(animal);
+        }
+        return animals;
+    }
+
+    @Test
+    void bulkAgeingGivesSameAnimalsAsAgeingOnEveryMove() {
+        //Given
+        var earth = new Earth(20, 20, "grid");
+        var bulkEarth = new Earth(20, 20, "grid");
+        bulkEarth.useBulkAgeing(AnimalAgeing.preferred());
+        var animals = populate(earth);
+        var bulkAnimals = populate(bulkEarth);
+        earth.removeAnimal(animals.get(7), Optional.empty());
+        bulkEarth.removeAnimal(bulkAnimals.get(7), Optional.empty());
+
+        //When
+        for (int day = 0; day < 5; day++) {
+            earth.moveAllAnimals();
+            bulkEarth.moveAllAnimals();
+        }
+
+        //Then
+        for (int i = 0; i < animals.size(); i++) {
+            if (i == 7) continue;
+            assertEquals(animals.get(i).getPosition(), bulkAnimals.get(i).getPosition());
+            assertEquals(animals.get(i).getEnergy(), bulkAnimals.get(i).getEnergy());
+            assertEquals(animals.get(i).getLifeLength(), bulkAnimals.get(i).getLifeLength());
+        }
+        var dead = new HashSet<Integer>();
+        earth.findAnimalsWithoutEnergy().forEach(animal -> dead.add(animal.getId()));
+        var bulkDead = new HashSet<Integer>();
+        bulkEarth.findAnimalsWithoutEnergy().forEach(animal -> bulkDead.add(animal.getId()));
+        assertFalse(dead.isEmpty());
+        assertEquals(dead, bulkDead);
+    }
+}
@@ -0,0 +1,119 @@
+package agh.oop.model.objects;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.MovementKernel;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalStoreTest {
+
+    private final IdAllocator animalIds = new IdAllocator();
+
+    private Animal createAnimal(Vector2d position, List<Integer> genes) {
+        var animal = new Animal(animalIds.next(), position, 100, new Genome(genes, genes.size()), 10);
+        animal.setDirection(MapDirection.N);
+        animal.setActiveGene(0);
+        return animal;
+    }
+
+    @Test
+    void removedAnimalsFreeTheirSlots() {
+        //Given
+        var store = new AnimalStore();
+        var first = createAnimal(new Vector2d(1, 1), List.of(0));
+        var second = createAnimal(new Vector2d(2, 2), List.of(0));
+        first.attach(store);
+        second.attach(store);
+
+        //When
+        first.detach();
+        var third = createAnimal(new Vector2d(3, 3), List.of(0));
+        third.attach(store);
+
+        //Then
+        assertEquals(2, store.size());
+        assertEquals(2, store.getSlotLimit());
+        assertEquals(third, store.getOwner(0));
+        assertEquals(new Vector2d(3, 3), third.getPosition());
+    }
+
+    @Test
+    void attachedAnimalMovesLikeDetachedOne() {
+        //Given
+        var kernel = new MovementKernel(4, 3);
+        var genes = List.of(1, 7, 3, 0, 5, 2, 6);
+        var store = new AnimalStore();
+        var attached = createAnimal(new Vector2d(2, 1), genes);
+        var detached = createAnimal(new Vector2d(2, 1), genes);
+        attached.attach(store);
+
+        for (int step = 0; step < 200; step++) {
+            //When
+            attached.move(kernel);
+            detached.move(kernel);
+
+            //Then
+            assertEquals(detached.getPosition(), attached.getPosition());
+            assertEquals(detached.getDirection(), attached.getDirection());
+            assertEquals(detached.getEnergy(), attached.getEnergy());
+            assertEquals(detached.getLifeLength(), attached.getLifeLength());
+            assertEquals(detached.getActiveGene(), attached.getActiveGene());
+        }
+    }
+
+    @Test
+    void moveWithMapOptionsKeepsSlotAndLiveOrder() {
+        //Given
+        var earth = new Earth(4, 3, "grid");
+        var genes = List.of(1, 7, 3, 0, 5, 2, 6);
+        var store = new AnimalStore();
+        var first = createAnimal(new Vector2d(2, 1), genes);
+        var second = createAnimal(new Vector2d(0, 0), genes);
+        var detached = createAnimal(new Vector2d(2, 1), genes);
+        first.attach(store);
+        second.attach(store);
+
+        for (int step = 0; step < 200; step++) {
+            //When
+            first.move(earth);
+            detached.move(earth);
+
+            //Then
+            assertEquals(first, store.getOwner(0));
+            assertEquals(List.of(0, 1), List.of(store.getLiveSlot(0), store.getLiveSlot(1)));
+            assertEquals(detached.getPosition(), first.getPosition());
+            assertEquals(detached.getDirection(), first.getDirection());
+            assertEquals(detached.getEnergy(), first.getEnergy());
+            assertEquals(detached.getLifeLength(), first.getLifeLength());
+            assertEquals(detached.getActiveGene(), first.getActiveGene());
+        }
+    }
+
+    @Test
+    void animalKeepsItsStateAfterLeavingTheMap() {
+        //Given
+        var earth = new Earth(10, 10, "grid");
+        var animal = createAnimal(new Vector2d(5, 5), List.of(2));
+        earth.placeAnimal(animal);
+        animal.incrementChildrenCount();
+        earth.moveAllAnimals();
+
+        //When
+        earth.removeAnimal(animal, Optional.of(3));
+
+        //Then
+        assertEquals(new Vector2d(6, 5), animal.getPosition());
+        assertEquals(99, animal.getEnergy());
+        assertEquals(1, animal.getLifeLength());
+        assertEquals(1, animal.getChildrenCount());
+        assertEquals(Optional.of(3), animal.getDayOfDeath());
+        assertEquals(1, earth.getDeadAnimals().size());
+    }
+}
@@ -26,13 +26,6 @@ class PlantTest {
         assertTrue(poisonousPlant.isPoisonous());
     }
 
-    @Test
-    void testGetId() {
-        Plant plant = new Plant(new Vector2d(2, 3), 10, false);
-        assertNotNull(plant.getId());
-        assertNotNull(plant.getId());
-    }
-
     @Test
     void testGetEnergy() {
         Plant nonPoisonousPlant = new Plant(new Vector2d(2, 3), 10, false);
@@ -0,0 +1,54 @@
+package agh.oop.model.objects.inheritance;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.IdAllocator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenomePoolTest {
+
+    private final IdAllocator animalIds = new IdAllocator();
+
+    @Test
+    void equalGenomesShareOneInstance() {
+        //Given
+        var pool = new GenomePool();
+        var first = new Genome(List.of(1, 2, 3), 3);
+        var second = new Genome(List.of(1, 2, 3), 3);
+
+        //When
+        var firstInterned = pool.intern(first);
+        var secondInterned = pool.intern(second);
+
+        //Then
+        assertSame(firstInterned, secondInterned);
+        assertEquals(1, pool.size());
+        assertEquals(2, pool.getReferenceCount(first));
+    }
+
+    @Test
+    void genomeIsDroppedWithItsLastCarrier() {
+        //Given
+        var earth = new Earth(10, 10, "grid");
+        var first = new Animal(animalIds.next(), new Vector2d(1, 1), 10, new Genome(List.of(4, 4), 2), 5);
+        var second = new Animal(animalIds.next(), new Vector2d(2, 2), 10, new Genome(List.of(4, 4), 2), 5);
+        earth.placeAnimal(first);
+        earth.placeAnimal(second);
+
+        //When
+        earth.removeAnimal(first, Optional.of(1));
+        int sizeAfterFirstDeath = earth.getGenomePool().size();
+        earth.removeAnimal(second, Optional.of(2));
+
+        //Then
+        assertSame(first.getGenome(), second.getGenome());
+        assertEquals(1, sizeAfterFirstDeath);
+        assertEquals(0, earth.getGenomePool().size());
+    }
+}
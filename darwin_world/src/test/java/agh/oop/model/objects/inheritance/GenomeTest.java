@@ -35,12 +35,12 @@ class GenomeTest {
 
         //When
         var genome = new Genome(genList, 3);
-        var initialGene = genome.getActiveGene();
         var genomeLength = genome.getGenomeLength();
-        genome.nextGene();
 
         //Then
-        assertEquals((initialGene+1)%genomeLength,genome.getActiveGene());
+        for (int activeGene = 0; activeGene < genomeLength; activeGene++) {
+            assertEquals((activeGene+1)%genomeLength, genome.nextGene(activeGene));
+        }
     }
 
     @Test
@@ -61,4 +61,85 @@ class GenomeTest {
         boolean bool2 = Objects.equals(genomeMerged.getGeneList(), List.of(5, 5, 7));
         assertTrue(bool1 || bool2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testLongGenomeKeepsGenes() {
+        //Given
+        var genList = new ArrayList<Integer>();
+        for (int i = 0; i < 300; i++) {
+            genList.add((i * 5) % 8);
+        }
+
+        //When
+        var genome = new Genome(genList, 300);
+
+        //Then
+        assertEquals(genList, genome.getGeneList());
+        assertEquals((int) genList.get(299), genome.geneAt(299));
+        assertTrue(genome.hasGenes(genList));
+        assertEquals(genome, new Genome(genList, 300));
+        assertEquals(genome.hashCode(), new Genome(genList, 300).hashCode());
+    }
+
+    @Test
+    public void testMergeLongGenome() {
+        //Given
+        var genList1 = new ArrayList<Integer>();
+        var genList2 = new ArrayList<Integer>();
+        for (int i = 0; i < 300; i++) {
+            genList1.add(i % 8);
+            genList2.add(7 - (i % 3));
+        }
+        var genome1 = new Genome(genList1, 300);
+        var genome2 = new Genome(genList2, 300);
+
+        //When
+        var genomeMerged = genome1.merge(genome2, 0.35);
+
+        //Then
+        var leftFirst = new ArrayList<>(genList1.subList(0, 105));
+        leftFirst.addAll(genList2.subList(105, 300));
+        var rightFirst = new ArrayList<>(genList2.subList(0, 195));
+        rightFirst.addAll(genList1.subList(195, 300));
+        assertTrue(genomeMerged.hasGenes(leftFirst) || genomeMerged.hasGenes(rightFirst));
+    }
+
+    @Test
+    public void testChildSharesUnchangedBlocks() {
+        //Given
+        var parent1 = Genome.random(10000);
+        var parent2 = Genome.random(10000);
+        var mutation = new StandardMutation(new int[]{2, 2});
+
+        //When
+        var child = parent1.generateNewGenome(mutation, parent2, 0.5);
+
+        //Then
+        int copiedBlocks = 0;
+        for (int i = 0; i < child.getBlocks().length; i++) {
+            if (child.getBlocks()[i] != parent1.getBlocks()[i] && child.getBlocks()[i] != parent2.getBlocks()[i]) {
+                copiedBlocks++;
+            }
+        }
+        assertTrue(copiedBlocks <= 3);
+        assertEquals(10000, child.getGeneList().size());
+    }
+
+    @Test
+    public void testChildHashMatchesGenomeBuiltFromItsGenes() {
+        //Given
+        var parent1 = Genome.random(10000);
+        var parent2 = Genome.random(10000);
+        var mutation = new StandardMutation(new int[]{2, 2});
+
+        //When
+        var child = parent1.generateNewGenome(mutation, parent2, 0.37);
+        var rebuilt = new Genome(child.getGeneList(), 10000);
+
+        //Then
+        assertArrayEquals(rebuilt.getBlockHashes(), child.getBlockHashes());
+        assertEquals(rebuilt.hashCode(), child.hashCode());
+        assertEquals(rebuilt, child);
+        assertNotEquals(parent1, child);
+    }
+}
@@ -0,0 +1,41 @@
+package agh.oop.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionSamplerTest {
+
+    @Test
+    void samplesDistinctFieldsInRange() {
+        //Given
+        var random = new Random(11);
+
+        //When
+        int[] sample = PositionSampler.sampleDistinct(400_000_000, 100_000, random);
+
+        //Then
+        assertEquals(100_000, sample.length);
+        assertEquals(100_000, Arrays.stream(sample).distinct().count());
+        assertTrue(Arrays.stream(sample).allMatch(field -> field >= 0 && field < 400_000_000));
+    }
+
+    @Test
+    void samplesWholeRangeWhenItIsFull() {
+        //Given
+        var random = new Random(5);
+
+        //When
+        int[] sample = PositionSampler.sampleDistinct(50, 50, random);
+
+        //Then
+        Arrays.sort(sample);
+        for (int field = 0; field < 50; field++) {
+            assertEquals(field, sample[field]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PositionSampler.sampleDistinct(5, 6, random));
+    }
+}
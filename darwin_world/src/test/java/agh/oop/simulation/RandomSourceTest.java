@@ -0,0 +1,87 @@
+package agh.oop.simulation;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.SwapMutation;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.day.VariedSimulationDay;
+import agh.oop.simulation.spawner.VariedPlantSpawner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSourceTest {
+
+    @Test
+    void substreamDoesNotDependOnDrawsBefore() {
+        //Given
+        var first = new RandomSource(5);
+        var second = new RandomSource(5);
+        second.nextLong();
+        second.split();
+
+        //When
+        long fromFirst = first.substream(3).nextLong();
+        long fromSecond = second.substream(3).nextLong();
+
+        //Then
+        assertEquals(fromFirst, fromSecond);
+        assertNotEquals(fromFirst, first.substream(4).nextLong());
+        assertNotEquals(new RandomSource(5, RandomSource.SETUP).nextLong(),
+                new RandomSource(5, RandomSource.SPAWNING).nextLong());
+    }
+
+    @Test
+    void nextIntsStaysInBounds() {
+        //Given
+        var random = new RandomSource(11);
+        var values = new int[1000];
+
+        //When
+        random.nextInts(values, 900, 5);
+
+        //Then
+        for (int i = 0; i < 900; i++) {
+            assertTrue(values[i] >= 0 && values[i] < 5);
+        }
+        assertEquals(0, values[900]);
+    }
+
+    private List<String> simulate(long seed) {
+        var parameters = new SimulationData(100, 10, 5, 30, 8, 80, 16, 30,
+                new int[]{1, 3}, "m2", "p2", seed);
+        var earth = new Earth(30, 30);
+        var animals = new HashSet<Animal>();
+        var spawner = new VariedPlantSpawner(earth, parameters);
+        var simulationDay = new VariedSimulationDay(earth, animals, spawner,
+                new SwapMutation(parameters.mutationRange(), new RandomSource(seed, RandomSource.MUTATION)), parameters);
+        new SimulationInitializer(earth, animals, spawner, parameters).initialize();
+        for (int day = 0; day < 20; day++) {
+            simulationDay.simulateOneDay();
+        }
+        List<String> state = new ArrayList<>();
+        earth.getAliveAnimals().stream().sorted(Comparator.comparingInt(Animal::getId)).forEach(animal ->
+                state.add(animal.getId() + " " + animal.getPosition() + " " + animal.getEnergy() + " "
+                        + animal.getDirection() + " " + animal.getGenome()));
+        earth.getPlants().keySet().forEach(position -> state.add("plant " + position));
+        state.add("area " + spawner.getSpecialAreaBorders());
+        return state;
+    }
+
+    @Test
+    void sameSeedGivesSameSimulation() {
+        //When
+        var first = simulate(77);
+        var second = simulate(77);
+        var other = simulate(78);
+
+        //Then
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+}
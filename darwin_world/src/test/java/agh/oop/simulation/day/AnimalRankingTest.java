@@ -0,0 +1,41 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimalRankingTest {
+
+    @Test
+    void selectionMatchesFullSort() {
+        //Given
+        var random = new Random(3);
+        List<Animal> animals = new ArrayList<>();
+        for (int id = 0; id < 300; id++) {
+            var animal = new Animal(id, new Vector2d(0, 0), random.nextInt(4), new Genome(List.of(0), 1), 1);
+            for (int child = random.nextInt(3); child > 0; child--) {
+                animal.incrementChildrenCount();
+            }
+            animals.add(animal);
+        }
+        var sorted = new ArrayList<>(animals);
+        sorted.sort(AnimalRanking.WEAKEST_FIRST.reversed());
+
+        //When
+        var strongest = AnimalRanking.strongest(animals);
+        var twoStrongest = new Animal[2];
+        AnimalRanking.twoStrongest(animals, twoStrongest, 0);
+
+        //Then
+        assertEquals(sorted.get(0), strongest);
+        assertEquals(sorted.get(0), twoStrongest[0]);
+        assertEquals(sorted.get(1), twoStrongest[1]);
+    }
+}
@@ -0,0 +1,81 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Mutation;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.RandomSource;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.spawner.AbstractSpawner;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchedBreedingTest {
+
+    // before the batched pairs are collected, writes down the pairs the old per-field reproduction would choose
+    private static class PerFieldCheckDay extends DefaultSimulationDay {
+
+        private final List<String> perFieldPairs = new ArrayList<>();
+
+        PerFieldCheckDay(Earth earth, HashSet<Animal> animals, AbstractSpawner spawner, Mutation mutation,
+                         SimulationData simulationParameters) {
+            super(earth, animals, spawner, mutation, simulationParameters);
+        }
+
+        @Override
+        protected void reproduceAnimals() {
+            var animalMap = earth.getAnimals();
+            for (Vector2d position : animalMap.keySet()) {
+                Set<Animal> animalsAtPosition = animalMap.get(position);
+                if (animalsAtPosition.size() > 1) {
+                    List<Animal> strongest = animalsAtPosition.stream()
+                            .sorted(AnimalRanking.WEAKEST_FIRST.reversed())
+                            .toList();
+                    Animal dad = strongest.get(0);
+                    Animal mom = strongest.get(1);
+                    if (mom.getEnergy() >= reproduceEnergy) {
+                        perFieldPairs.add(day + " " + dad.getId() + "+" + mom.getId());
+                    }
+                }
+            }
+            super.reproduceAnimals();
+        }
+    }
+
+    @Test
+    void batchedBreedingChoosesSamePairsAsPerFieldBreeding() {
+        //Given
+        var parameters = new SimulationData(100, 8, 4, 40, 6, 300, 10, 25,
+                new int[]{1, 2}, "m1", "p1", 17);
+        var earth = new Earth(20, 20);
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, parameters);
+        var simulationDay = new PerFieldCheckDay(earth, animals, spawner,
+                new StandardMutation(parameters.mutationRange(), new RandomSource(17, RandomSource.MUTATION)), parameters);
+        new SimulationInitializer(earth, animals, spawner, parameters).initialize();
+        List<String> batchedPairs = new ArrayList<>();
+        simulationDay.registerStatisticsListener((animal, parents, plant) -> parents.ifPresent(list ->
+                batchedPairs.add(simulationDay.day + " " + list.get(0).getId() + "+" + list.get(1).getId())));
+
+        //When
+        for (int day = 0; day < 15; day++) {
+            simulationDay.simulateOneDay();
+        }
+
+        //Then
+        var perFieldPairs = simulationDay.perFieldPairs;
+        assertTrue(perFieldPairs.size() > 50);
+        perFieldPairs.sort(null);
+        batchedPairs.sort(null);
+        assertEquals(perFieldPairs, batchedPairs);
+    }
+}
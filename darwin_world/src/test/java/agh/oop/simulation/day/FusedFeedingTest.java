@@ -0,0 +1,66 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.RandomSource;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FusedFeedingTest {
+
+    // no plants are spawned during the days, so the order in which fields are freed does not change what happens next
+    private List<String> simulate(boolean fused) {
+        var parameters = new SimulationData(100, 8, 4, 0, 6, 300, 10, 25,
+                new int[]{1, 2}, "m1", "p1", 31);
+        var earth = new Earth(25, 25);
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, parameters);
+        var simulationDay = new DefaultSimulationDay(earth, animals, spawner,
+                new StandardMutation(parameters.mutationRange(), new RandomSource(31, RandomSource.MUTATION)), parameters);
+        new SimulationInitializer(earth, animals, spawner, parameters).initialize();
+        for (int x = 0; x < 25; x++) {
+            for (int y = 0; y < 25; y++) {
+                if ((x + 2 * y) % 3 == 0) earth.placePlant(new Vector2d(x, y), 6, (x + y) % 4 == 0);
+            }
+        }
+        List<String> events = new ArrayList<>();
+        simulationDay.registerStatisticsListener((animal, parents, plant) -> events.add(animal.getId() + " "
+                + parents.map(list -> list.get(0).getId() + "+" + list.get(1).getId()).orElse("-") + " "
+                + plant.map(eaten -> eaten.getPosition().toString()).orElse("-")));
+        if (fused) simulationDay.useFusedFeeding();
+        for (int day = 0; day < 10; day++) {
+            simulationDay.simulateOneDay();
+        }
+
+        List<String> state = new ArrayList<>();
+        earth.getAliveAnimals().stream().sorted(Comparator.comparingInt(Animal::getId)).forEach(animal ->
+                state.add(animal.getId() + " " + animal.getPosition() + " " + animal.getEnergy() + " "
+                        + animal.getChildrenCount() + " " + animal.getGenome()));
+        state.add("plants " + earth.getPlantCount());
+        events.sort(null);
+        state.addAll(events);
+        return state;
+    }
+
+    @Test
+    void fusedFeedingGivesSameDays() {
+        //When
+        var separate = simulate(false);
+        var fused = simulate(true);
+
+        //Then
+        assertTrue(fused.stream().anyMatch(line -> line.contains("+")));
+        assertEquals(separate, fused);
+    }
+}
@@ -0,0 +1,113 @@
+package agh.oop.simulation.day;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.MapDirection;
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Genome;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.Simulation;
+import agh.oop.simulation.data.EngineOptions;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelDayEngineTest {
+
+    private static final SimulationData PARAMETERS = new SimulationData(100, 6, 3, 0, 5, 0, 12, 20,
+            new int[]{1, 1}, "m1", "p1");
+
+    // the same world every time: animals, genomes, directions and plants come from a fixed seed
+    private List<String> simulate(int threads, long seed, int days) {
+        var earth = new Earth(70, 50);
+        var animals = new HashSet<Animal>();
+        var random = new SplittableRandom(7);
+        for (int i = 0; i < 600; i++) {
+            var position = new Vector2d(random.nextInt(20), random.nextInt(50));
+            var animal = new Animal(earth.nextAnimalId(), position, 20, Genome.random(12, random), 3);
+            animal.setDirection(MapDirection.convertNumber(random.nextInt(8)));
+            animal.setActiveGene(random.nextInt(12));
+            animals.add(animal);
+            earth.placeAnimal(animal);
+        }
+        for (int x = 0; x < 70; x++) {
+            for (int y = 0; y < 50; y++) {
+                if ((3 * x + 7 * y) % 4 == 0) earth.placePlant(new Vector2d(x, y), 5, false);
+            }
+        }
+        var spawner = new DefaultPlantSpawner(earth, PARAMETERS);
+        var simulationDay = new DefaultSimulationDay(earth, animals, spawner,
+                new StandardMutation(new int[]{1, 1}), PARAMETERS);
+        var pool = new ForkJoinPool(threads);
+        simulationDay.useParallelEngine(pool, seed);
+        for (int day = 0; day < days; day++) {
+            simulationDay.simulateOneDay();
+        }
+        pool.shutdown();
+
+        List<String> state = new ArrayList<>();
+        earth.getAliveAnimals().stream().sorted(Comparator.comparingInt(Animal::getId)).forEach(animal ->
+                state.add(animal.getId() + " " + animal.getPosition() + " " + animal.getEnergy() + " "
+                        + animal.getDirection() + " " + animal.getActiveGene() + " " + animal.getChildrenCount()
+                        + " " + animal.getGenome()));
+        earth.getPlants().keySet().stream().sorted(Comparator.comparingInt(Vector2d::getY)
+                .thenComparingInt(Vector2d::getX)).forEach(position -> state.add("plant " + position));
+        return state;
+    }
+
+    @Test
+    void sameSeedGivesSameDaysForAnyThreadCount() {
+        //Given
+        long seed = 2024;
+
+        //When
+        var singleThread = simulate(1, seed, 12);
+        var fourThreads = simulate(4, seed, 12);
+
+        //Then
+        assertTrue(singleThread.stream().anyMatch(line -> !line.startsWith("plant")
+                && Integer.parseInt(line.split(" ")[0]) >= 600));
+        assertEquals(singleThread, fourThreads);
+    }
+
+    @Test
+    void otherSeedGivesOtherChildren() {
+        //When
+        var first = simulate(2, 1, 6);
+        var second = simulate(2, 2, 6);
+
+        //Then
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void steeredMapVariantsRefuseParallelEngine() {
+        //Given
+        var earth = new Earth(20, 20);
+        var parameters = new SimulationData(100, 6, 3, 0, 5, 0, 12, 20, new int[]{1, 1}, "m1", "p2");
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, parameters);
+        var mutation = new StandardMutation(new int[]{1, 1});
+        var pool = new ForkJoinPool(2);
+
+        //When
+        var varied = new VariedSimulationDay(earth, animals, spawner, mutation, parameters);
+        var plantSeeking = new PlantSeekingSimulationDay(earth, animals, spawner, mutation, parameters);
+
+        //Then
+        assertThrows(IllegalStateException.class, () -> varied.useParallelEngine(pool, 1));
+        assertThrows(IllegalStateException.class, () -> plantSeeking.useParallelEngine(pool, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Simulation(new Earth(20, 20), parameters,
+                new EngineOptions(false, 2, false, false, "hash")));
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,89 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Boundary;
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.data.SimulationData;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbstractSpawnerTest {
+
+    private static class CountingFreeFields extends ImplicitFreeFields {
+
+        private int takeRandomCalls = 0;
+
+        CountingFreeFields(Earth earth, List<Boundary> areas) {
+            super(earth, areas);
+        }
+
+        @Override
+        public List<Vector2d> takeRandom(int count, RandomGenerator random) {
+            takeRandomCalls++;
+            return super.takeRandom(count, random);
+        }
+    }
+
+    private static class WholeMapSpawner extends AbstractSpawner {
+
+        private final CountingFreeFields zone;
+
+        WholeMapSpawner(Earth earth, SimulationData simulationParameters) {
+            super(earth, simulationParameters);
+            this.zone = new CountingFreeFields(earth, List.of(earth.getBounds()));
+        }
+
+        @Override
+        protected List<FreeFields> getZones() {
+            return List.of(zone);
+        }
+
+        @Override
+        protected void placePlants() {
+            forEachNewField(0, newPlantNumber, position -> earth.placePlant(position, plantEnergy, false));
+        }
+
+        @Override
+        public void fieldFreed(Vector2d position) {
+            zone.add(position);
+        }
+
+        @Override
+        public Boundary getSpecialAreaBorders() {
+            return earth.getBounds();
+        }
+    }
+
+    @Test
+    void pipelineTakesMissingFieldsOfDenseZoneInOneDraw() throws InterruptedException {
+        //Given
+        var earth = new Earth(40, 40, "grid");
+        var spawner = new WholeMapSpawner(earth, new SimulationData(100, 10, 10, 30, 10, 10, 8, 10,
+                new int[]{0, 0}, "m1", "p1", 5));
+        for (int x = 0; x < 40; x++) {
+            for (int y = 1; y < 40; y++) {
+                var position = new Vector2d(x, y);
+                earth.placePlant(position, 10, false);
+                spawner.zone.remove(position);
+            }
+        }
+        var worker = Executors.newSingleThreadExecutor();
+        spawner.usePipeline(worker);
+
+        //When
+        spawner.spawnPlants();
+        worker.shutdown();
+        worker.awaitTermination(1, TimeUnit.SECONDS);
+
+        //Then
+        assertEquals(1600 - 10, earth.getPlantCount());
+        assertEquals(10, spawner.zone.size());
+        assertEquals(1, spawner.zone.takeRandomCalls);
+    }
+}
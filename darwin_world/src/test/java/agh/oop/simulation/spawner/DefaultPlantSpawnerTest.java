@@ -0,0 +1,90 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.data.SimulationData;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DefaultPlantSpawnerTest {
+
+    private SimulationData parameters(int newPlantNumber) {
+        return new SimulationData(100, 10, 10, newPlantNumber, 10, 10, 8, 10,
+                new int[]{0, 0}, "m1", "p1");
+    }
+
+    @Test
+    void spawnPlantsOnLargeSparseMap() {
+        //Given
+        var earth = new Earth(10000, 10000, "chunked");
+        var spawner = new DefaultPlantSpawner(earth, parameters(1000));
+
+        //When
+        spawner.spawnPlants();
+
+        //Then
+        var equator = spawner.getSpecialAreaBorders();
+        long equatorPlants = earth.getPlants().keySet().stream()
+                .filter(position -> position.follows(equator.lowerLeft()) && position.precedes(equator.upperRight()))
+                .count();
+        assertEquals(1000, earth.getPlants().size());
+        assertTrue(equatorPlants > 700 && equatorPlants < 900);
+    }
+
+    @Test
+    void spawnPlantsUntilMapIsFull() {
+        //Given
+        var earth = new Earth(5, 5);
+        var spawner = new DefaultPlantSpawner(earth, parameters(100));
+
+        //When
+        spawner.spawnPlants();
+        spawner.spawnPlants();
+
+        //Then
+        assertEquals(25, earth.getPlants().size());
+    }
+
+    @Test
+    void freedFieldCanBeUsedAgain() {
+        //Given
+        var earth = new Earth(5, 5);
+        var spawner = new DefaultPlantSpawner(earth, parameters(100));
+        spawner.spawnPlants();
+        var position = new Vector2d(0, 0);
+
+        //When
+        earth.removePlant(earth.getPlants().get(position));
+        spawner.fieldFreed(position);
+        spawner.spawnPlants();
+
+        //Then
+        assertTrue(earth.getPlants().containsKey(position));
+        assertEquals(25, earth.getPlants().size());
+    }
+
+    @Test
+    void pipelinedSpawnerSkipsTakenCandidates() throws InterruptedException {
+        //Given
+        var earth = new Earth(20, 20, "grid");
+        var spawner = new DefaultPlantSpawner(earth, parameters(150));
+        var worker = Executors.newSingleThreadExecutor();
+        spawner.usePipeline(worker);
+
+        //When
+        spawner.spawnPlants();
+        int afterFirstDay = earth.getPlantCount();
+        spawner.spawnPlants();
+        spawner.spawnPlants();
+        worker.shutdown();
+        worker.awaitTermination(1, TimeUnit.SECONDS);
+
+        //Then
+        assertEquals(150, afterFirstDay);
+        assertEquals(400, earth.getPlantCount());
+    }
+}
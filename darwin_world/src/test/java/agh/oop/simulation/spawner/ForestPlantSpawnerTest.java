@@ -0,0 +1,74 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.data.SimulationData;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForestPlantSpawnerTest {
+
+    private SimulationData parameters(int newPlantNumber) {
+        return new SimulationData(100, 10, 10, newPlantNumber, 10, 10, 8, 10,
+                new int[]{0, 0}, "m1", "p4");
+    }
+
+    @Test
+    void seedsFallInGrove() {
+        //Given
+        var earth = new Earth(100, 70);
+        var spawner = new ForestPlantSpawner(earth, parameters(20));
+
+        //When
+        spawner.spawnPlants();
+
+        //Then
+        var grove = spawner.getSpecialAreaBorders();
+        assertFalse(earth.getPlants().isEmpty());
+        assertTrue(earth.getPlants().size() <= 20);
+        assertTrue(earth.getPlants().keySet().stream()
+                .allMatch(position -> position.follows(grove.lowerLeft()) && position.precedes(grove.upperRight())));
+    }
+
+    @Test
+    void forestSpreadsFromPlants() {
+        //Given
+        var earth = new Earth(130, 40);
+        earth.placePlant(new Vector2d(63, 20), 10, false);
+        earth.placePlant(new Vector2d(64, 20), 10, false);
+        var spawner = new ForestPlantSpawner(earth, parameters(0));
+
+        //When
+        for (int day = 0; day < 30; day++) {
+            spawner.spawnPlants();
+        }
+
+        //Then
+        assertTrue(earth.getPlants().size() > 50);
+        assertTrue(earth.getPlants().keySet().stream().allMatch(earth::isInBounds));
+        assertTrue(earth.getPlants().keySet().stream().anyMatch(position -> position.getX() < 63));
+        assertTrue(earth.getPlants().keySet().stream().anyMatch(position -> position.getX() > 64));
+    }
+
+    @Test
+    void eatenPlantCanGrowAgain() {
+        //Given
+        var earth = new Earth(3, 3);
+        var spawner = new ForestPlantSpawner(earth, parameters(9));
+        for (int day = 0; day < 40; day++) {
+            spawner.spawnPlants();
+        }
+        var position = new Vector2d(1, 1);
+
+        //When
+        earth.removePlant(position);
+        spawner.fieldFreed(position);
+        for (int day = 0; day < 40; day++) {
+            spawner.spawnPlants();
+        }
+
+        //Then
+        assertEquals(9, earth.getPlants().size());
+    }
+}
@@ -0,0 +1,60 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.RandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImplicitFreeFieldsTest {
+
+    // 350 of 400 fields hold plants, so more than three quarters of the zone is taken and all free fields are listed
+    private List<Vector2d> takeFromDenseZone(long seed) {
+        var earth = new Earth(20, 20, "grid");
+        var freeFields = new ImplicitFreeFields(earth, List.of(earth.getBounds()));
+        for (int field = 0; field < 350; field++) {
+            var position = new Vector2d(field % 20, field / 20);
+            earth.placePlant(position, 5, false);
+            freeFields.remove(position);
+        }
+        var taken = freeFields.takeRandom(30, new RandomSource(seed));
+        assertTrue(taken.stream().noneMatch(earth::hasPlant));
+        return taken;
+    }
+
+    @Test
+    void denseZoneGivesSameFieldsForSameSeed() {
+        //When
+        var first = takeFromDenseZone(9);
+        var second = takeFromDenseZone(9);
+        var other = takeFromDenseZone(10);
+
+        //Then
+        assertEquals(30, first.size());
+        assertEquals(30, new HashSet<>(first).size());
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    void zoneLargerThanIntCountsAndDrawsAllItsFields() {
+        //Given
+        var earth = new Earth(60000, 60000, "chunked");
+        var freeFields = new ImplicitFreeFields(earth, List.of(earth.getBounds()));
+
+        //When
+        var taken = freeFields.takeRandom(200, new RandomSource(3));
+
+        //Then
+        assertEquals(3_600_000_000L, freeFields.area());
+        assertEquals(3_600_000_000L - 200, freeFields.size());
+        assertEquals(200, new HashSet<>(taken).size());
+        assertTrue(taken.stream().allMatch(earth::isInBounds));
+        // a draw limited to the first 2^31 fields would never reach the rows above 35791
+        assertTrue(taken.stream().anyMatch(position -> position.getY() > 35791));
+    }
+}
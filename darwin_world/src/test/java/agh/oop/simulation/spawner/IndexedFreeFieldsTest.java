@@ -0,0 +1,56 @@
+package agh.oop.simulation.spawner;
+
+import agh.oop.model.map.Boundary;
+import agh.oop.model.map.Earth;
+import agh.oop.model.map.Vector2d;
+import agh.oop.simulation.RandomSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedFreeFieldsTest {
+
+    private final RandomSource random = new RandomSource(1);
+
+    @Test
+    void takesEveryFreeFieldExactlyOnce() {
+        //Given
+        var earth = new Earth(6, 6, "grid");
+        earth.placePlant(new Vector2d(1, 0), 5, false);
+        var areas = List.of(new Boundary(new Vector2d(0, 0), new Vector2d(5, 1)),
+                new Boundary(new Vector2d(0, 4), new Vector2d(5, 5)));
+        var freeFields = new IndexedFreeFields(earth, areas);
+
+        //When
+        var taken = freeFields.takeRandom(100, random);
+
+        //Then
+        assertEquals(23, taken.size());
+        assertEquals(23, new HashSet<>(taken).size());
+        assertFalse(taken.contains(new Vector2d(1, 0)));
+        assertTrue(taken.stream().allMatch(position -> position.getY() <= 1 || position.getY() >= 4));
+        assertEquals(0, freeFields.size());
+    }
+
+    @Test
+    void addedFieldIsTakenAgain() {
+        //Given
+        var earth = new Earth(4, 4, "grid");
+        var freeFields = new IndexedFreeFields(earth, List.of(earth.getBounds()));
+        freeFields.takeRandom(16, random);
+        var position = new Vector2d(2, 3);
+
+        //When
+        freeFields.add(position);
+        freeFields.add(position);
+
+        //Then
+        assertTrue(freeFields.contains(position));
+        assertEquals(1, freeFields.size());
+        assertEquals(List.of(position), freeFields.takeRandom(5, random));
+        assertFalse(freeFields.contains(position));
+    }
+}
@@ -0,0 +1,41 @@
+package agh.oop.simulation.statistics;
+
+import agh.oop.model.map.Vector2d;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.Genome;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DescendantsStatisticsTest {
+
+    private Animal createAnimal(int id) {
+        return new Animal(id, new Vector2d(0, 0), 10, new Genome(List.of(0), 1), 5);
+    }
+
+    @Test
+    void countsEveryDescendantOnce() {
+        //Given
+        var dad = createAnimal(0);
+        var mom = createAnimal(1);
+        var statistics = new DescendantsStatistics(new HashSet<>(List.of(dad, mom)));
+        var child = createAnimal(2);
+        var secondChild = createAnimal(3);
+        var grandchild = createAnimal(200);
+
+        //When
+        statistics.animalStateChanged(child, Optional.of(List.of(dad, mom)), Optional.empty());
+        statistics.animalStateChanged(secondChild, Optional.of(List.of(dad, mom)), Optional.empty());
+        statistics.animalStateChanged(grandchild, Optional.of(List.of(child, secondChild)), Optional.empty());
+
+        //Then
+        assertEquals(3, statistics.getNumberOfDescendants(dad));
+        assertEquals(3, statistics.getNumberOfDescendants(mom));
+        assertEquals(1, statistics.getNumberOfDescendants(child));
+        assertEquals(0, statistics.getNumberOfDescendants(grandchild));
+    }
+}
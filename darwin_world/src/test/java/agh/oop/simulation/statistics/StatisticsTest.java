@@ -0,0 +1,48 @@
+package agh.oop.simulation.statistics;
+
+import agh.oop.model.map.Earth;
+import agh.oop.model.objects.Animal;
+import agh.oop.model.objects.inheritance.StandardMutation;
+import agh.oop.simulation.RandomSource;
+import agh.oop.simulation.SimulationInitializer;
+import agh.oop.simulation.data.SimulationData;
+import agh.oop.simulation.day.DefaultSimulationDay;
+import agh.oop.simulation.spawner.DefaultPlantSpawner;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatisticsTest {
+
+    @Test
+    void notOccupiedFieldsFollowDayChanges() {
+        //Given
+        var parameters = new SimulationData(100, 8, 4, 20, 6, 120, 10, 25,
+                new int[]{1, 2}, "m1", "p1", 5);
+        var earth = new Earth(20, 20);
+        var animals = new HashSet<Animal>();
+        var spawner = new DefaultPlantSpawner(earth, parameters);
+        var simulationDay = new DefaultSimulationDay(earth, animals, spawner,
+                new StandardMutation(parameters.mutationRange(), new RandomSource(5, RandomSource.MUTATION)), parameters);
+        new SimulationInitializer(earth, animals, spawner, parameters).initialize();
+        var statistics = new Statistics("no");
+        earth.publishSnapshot(0);
+        statistics.mapInitialized(earth, "Day 0");
+
+        for (int day = 1; day <= 20; day++) {
+            //When
+            simulationDay.simulateOneDay();
+            // day 12 is never shown to the statistics, so the next day is counted from scratch
+            if (day == 12) continue;
+            earth.publishSnapshot(day);
+            statistics.mapChanged(earth, "Day " + day);
+
+            //Then
+            var occupiedFields = new HashSet<>(earth.getAnimals().keySet());
+            occupiedFields.addAll(earth.getPlants().keySet());
+            assertEquals(earth.getArea() - occupiedFields.size(), statistics.getNumberOfNotOccupiedFields());
+        }
+    }
+}